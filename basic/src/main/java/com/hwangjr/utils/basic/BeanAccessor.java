@@ -0,0 +1,222 @@
+package com.hwangjr.utils.basic;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accessor table of a bean class, it is built once and cached by {@link ClassHelper}.
+ * <p/>
+ * The getters of non-public classes are made accessible and the property names are interned when the table is built,
+ * so reading the properties of a bean only needs array iteration and {@link Method#invoke(Object, Object...)}.
+ */
+final class BeanAccessor {
+    static final Object[] NO_ARGS = new Object[0];
+
+    /**
+     * the bean class
+     */
+    final Class<?> type;
+
+    /**
+     * property names of {@link #getters}, same index
+     */
+    final String[] names;
+
+    /**
+     * getters which are not declared by {@link Object}, used for {@link ClassHelper#getProperties(Object)}
+     */
+    final Method[] getters;
+
+    /**
+     * all the getters by property name, used for {@link ClassHelper#getGetter(Object, String)}
+     */
+    private final Map<String, Method> getterMap;
+
+    /**
+     * setter plans which are not declared by {@link Object}, used for {@link ClassHelper#setProperties(Object, Map)}
+     */
+    final Setter[] setters;
+
+    private BeanAccessor(Class<?> type) {
+        this.type = type;
+        Map<String, Method> getterMap = new HashMap<>();
+        Map<String, Integer> indexes = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        List<Method> getters = new ArrayList<>();
+        List<Setter> setters = new ArrayList<>();
+        for (Method method : type.getMethods()) {
+            String name = method.getName();
+            if (isSetter(method)) {
+                setters.add(new Setter(toPropertyName(name, 3), makeAccessible(method)));
+                continue;
+            }
+            int prefix = getterPrefixLength(name);
+            if (prefix == 0 || !Modifier.isPublic(method.getModifiers()) ||
+                    method.getParameterTypes().length != 0) {
+                continue;
+            }
+            String property = toPropertyName(name, prefix);
+            if (!Modifier.isStatic(method.getModifiers()) &&
+                    !void.class.equals(method.getReturnType())) {
+                getterMap.put(property, makeAccessible(method));
+            }
+            if (method.getDeclaringClass() != Object.class) {
+                Integer index = indexes.get(property);
+                if (index != null) {
+                    getters.set(index, makeAccessible(method));
+                } else {
+                    indexes.put(property, names.size());
+                    names.add(property);
+                    getters.add(makeAccessible(method));
+                }
+            }
+        }
+        this.getterMap = Collections.unmodifiableMap(getterMap);
+        this.names = names.toArray(new String[names.size()]);
+        this.getters = getters.toArray(new Method[getters.size()]);
+        this.setters = setters.toArray(new Setter[setters.size()]);
+    }
+
+    /**
+     * build the accessor table for the given class.
+     */
+    static BeanAccessor build(Class<?> type) {
+        return new BeanAccessor(type);
+    }
+
+    /**
+     * get the getter of the property, return null if not exists.
+     */
+    Method getGetter(String property) {
+        return getterMap.get(property);
+    }
+
+    /**
+     * return the length of 'get' or 'is' prefix, or 0 if the method name is not a getter.
+     */
+    static int getterPrefixLength(String name) {
+        if (name.length() > 3 && name.startsWith("get")) {
+            return 3;
+        } else if (name.length() > 2 && name.startsWith("is")) {
+            return 2;
+        }
+        return 0;
+    }
+
+    /**
+     * whether the method is a public setter with one parameter and not declared by {@link Object}.
+     */
+    static boolean isSetter(Method method) {
+        String name = method.getName();
+        return name.length() > 3 && name.startsWith("set") &&
+                Modifier.isPublic(method.getModifiers()) &&
+                method.getParameterTypes().length == 1 &&
+                method.getDeclaringClass() != Object.class;
+    }
+
+    /**
+     * convert the accessor method name to interned property name, like: getUserName -> userName
+     */
+    static String toPropertyName(String methodName, int prefix) {
+        return (Character.toLowerCase(methodName.charAt(prefix)) +
+                methodName.substring(prefix + 1)).intern();
+    }
+
+    /**
+     * make the method accessible if it or its declaring class is not public, so that it can be invoked.
+     * the public method of public class is kept as is, the access to it is always allowed.
+     */
+    static Method makeAccessible(Method method) {
+        if ((!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(method.getDeclaringClass().getModifiers()))
+                && !method.isAccessible()) {
+            try {
+                method.setAccessible(true);
+            } catch (RuntimeException e) {
+                // the module or security manager denies it, invoke with the normal access check
+            }
+        }
+        return method;
+    }
+
+    /**
+     * setter plan of a property, the parameter type is resolved when the plan is built.
+     */
+    static final class Setter {
+        /**
+         * interned property name
+         */
+        final String name;
+        final Method method;
+
+        /**
+         * parameter type of the setter
+         */
+        final Class<?> type;
+
+        /**
+         * boxed parameter type, the value which is instance of it will be set without conversion
+         */
+        private final Class<?> boxedType;
+
+        /**
+         * the converter resolved for the last source type, only the source type which can not pin
+         * the class loader of the bean is kept
+         */
+        private volatile Conversion conversion;
+
+        Setter(String name, Method method) {
+            this.name = name;
+            this.method = method;
+            this.type = method.getParameterTypes()[0];
+            this.boxedType = ClassHelper.getBoxedClass(type);
+        }
+
+        /**
+         * convert the value to parameter type if needed, then invoke the setter.
+         */
+        void set(Object bean, Object value) throws Exception {
+            if (value != null && !boxedType.isInstance(value)) {
+                value = getConverter(value.getClass()).convert(value, type);
+            }
+            method.invoke(bean, value);
+        }
+
+        /**
+         * get the converter from source type to parameter type, reuse the last resolved one if possible.
+         */
+        ConverterRegistry.IConverter getConverter(Class<?> sourceType) {
+            Conversion conversion = this.conversion;
+            if (conversion == null || conversion.sourceType != sourceType ||
+                    conversion.version != ConverterRegistry.version()) {
+                int version = ConverterRegistry.version();
+                ConverterRegistry.IConverter converter = ConverterRegistry.find(sourceType, type);
+                if (!ClassCache.isCacheSafe(sourceType, method.getDeclaringClass().getClassLoader())) {
+                    return converter;
+                }
+                conversion = new Conversion(sourceType, version, converter);
+                this.conversion = conversion;
+            }
+            return conversion.converter;
+        }
+    }
+
+    /**
+     * resolved converter of a source type.
+     */
+    static final class Conversion {
+        final Class<?> sourceType;
+        final int version;
+        final ConverterRegistry.IConverter converter;
+
+        Conversion(Class<?> sourceType, int version, ConverterRegistry.IConverter converter) {
+            this.sourceType = sourceType;
+            this.version = version;
+            this.converter = converter;
+        }
+    }
+}
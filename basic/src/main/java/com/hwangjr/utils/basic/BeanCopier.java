@@ -0,0 +1,222 @@
+package com.hwangjr.utils.basic;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copy the properties from a source bean to a target bean.
+ * <p/>
+ * The mapping plan of a (source class, target class) pair is compiled once: the matching getter and setter of each
+ * property, and the converter if the types are different. Copying then invokes the getter and setter directly,
+ * without the intermediate map of {@link ClassHelper#getProperties(Object)} and {@link ClassHelper#setProperties(Object, Map)}.
+ * <p/>
+ * Like {@link ClassHelper#setProperties(Object, Map)}, the null value is not copied and the failure of a property
+ * is ignored.
+ *
+ * @param <S> source type
+ * @param <T> target type
+ */
+public final class BeanCopier<S, T> {
+    private static final ClassCache<ClassCache<BeanCopier<?, ?>>> COPIER_CACHE = new ClassCache<>();
+
+    private final Class<S> sourceType;
+    private final Class<T> targetType;
+    private volatile Plan plan;
+
+    private BeanCopier(Class<S> sourceType, Class<T> targetType) {
+        this.sourceType = sourceType;
+        this.targetType = targetType;
+        this.plan = new Plan(sourceType, targetType);
+    }
+
+    /**
+     * get the cached copier of the given types, create it if absent.
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> BeanCopier<S, T> create(Class<S> sourceType, Class<T> targetType) {
+        if (sourceType == null || targetType == null) {
+            throw new IllegalArgumentException("sourceType and targetType MUST NOT be null!");
+        }
+        ClassCache<BeanCopier<?, ?>> copiers = COPIER_CACHE.get(sourceType);
+        if (copiers == null) {
+            copiers = COPIER_CACHE.putIfAbsent(sourceType, new ClassCache<BeanCopier<?, ?>>());
+        }
+        BeanCopier<?, ?> copier = copiers.get(targetType);
+        if (copier == null) {
+            copier = copiers.putIfAbsent(targetType, new BeanCopier<>(sourceType, targetType));
+        }
+        return (BeanCopier<S, T>) copier;
+    }
+
+    /**
+     * copy the properties from source to target, by the copier of their classes.
+     */
+    @SuppressWarnings("unchecked")
+    public static void copyProperties(Object source, Object target) {
+        if (source == null || target == null) {
+            return;
+        }
+        ((BeanCopier<Object, Object>) create(source.getClass(), target.getClass())).copy(source, target);
+    }
+
+    public Class<S> getSourceType() {
+        return sourceType;
+    }
+
+    public Class<T> getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * copy the properties from source to target.
+     *
+     * @return target
+     */
+    public T copy(S source, T target) {
+        if (source == null || target == null) {
+            return target;
+        }
+        for (Property property : getPlan().properties) {
+            try {
+                property.copy(source, target);
+            } catch (Exception e) {
+            }
+        }
+        return target;
+    }
+
+    /**
+     * create a new instance of target type by its no-arg constructor, then copy the properties from source.
+     *
+     * @return the new target, or null if source is null
+     */
+    public T copy(S source) {
+        if (source == null) {
+            return null;
+        }
+        return copy(source, newTarget());
+    }
+
+    /**
+     * copy each source to a new instance of target type.
+     *
+     * @return the copied targets, the null source is copied to null
+     */
+    public List<T> copyList(Collection<? extends S> sources) {
+        if (sources == null) {
+            return null;
+        }
+        List<T> targets = new ArrayList<>(sources.size());
+        Property[] properties = getPlan().properties;
+        for (S source : sources) {
+            if (source == null) {
+                targets.add(null);
+                continue;
+            }
+            T target = newTarget();
+            for (Property property : properties) {
+                try {
+                    property.copy(source, target);
+                } catch (Exception e) {
+                }
+            }
+            targets.add(target);
+        }
+        return targets;
+    }
+
+    /**
+     * get the plan, compile it again if the registered converters are changed.
+     */
+    private Plan getPlan() {
+        Plan plan = this.plan;
+        if (plan.version != ConverterRegistry.version()) {
+            plan = new Plan(sourceType, targetType);
+            this.plan = plan;
+        }
+        return plan;
+    }
+
+    private T newTarget() {
+        try {
+            return ClassHelper.newInstance(targetType);
+        } catch (IllegalStateException e) {
+            throw new IllegalStateException("CAN NOT create instance of " + targetType.getName() +
+                    ", cause: " + e.getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * compiled mapping plan.
+     */
+    private static final class Plan {
+        private final int version;
+        private final Property[] properties;
+
+        Plan(Class<?> sourceType, Class<?> targetType) {
+            this.version = ConverterRegistry.version();
+            BeanAccessor source = ClassHelper.getAccessor(sourceType);
+            Map<String, Method> getters = new HashMap<>();
+            for (int i = 0; i < source.getters.length; i++) {
+                getters.put(source.names[i], source.getters[i]);
+            }
+            List<Property> properties = new ArrayList<>();
+            for (BeanAccessor.Setter setter : ClassHelper.getAccessor(targetType).setters) {
+                Method getter = getters.get(setter.name);
+                if (getter != null && getter.getReturnType() != void.class) {
+                    properties.add(new Property(getter, setter));
+                }
+            }
+            this.properties = properties.toArray(new Property[properties.size()]);
+        }
+    }
+
+    /**
+     * compiled mapping of a property.
+     */
+    private static final class Property {
+        private final Method getter;
+        private final BeanAccessor.Setter setter;
+
+        /**
+         * the resolved converter, null if no conversion is needed or the source value type is only known at runtime.
+         */
+        private final ConverterRegistry.IConverter converter;
+
+        /**
+         * whether the value can be set without conversion.
+         */
+        private final boolean direct;
+
+        Property(Method getter, BeanAccessor.Setter setter) {
+            this.getter = getter;
+            this.setter = setter;
+            Class<?> valueType = ClassHelper.getBoxedClass(getter.getReturnType());
+            this.direct = ClassHelper.getBoxedClass(setter.type).isAssignableFrom(valueType);
+            if (!direct && (getter.getReturnType().isPrimitive() || Modifier.isFinal(valueType.getModifiers()))) {
+                this.converter = ConverterRegistry.find(valueType, setter.type);
+            } else {
+                this.converter = null;
+            }
+        }
+
+        void copy(Object source, Object target) throws Exception {
+            Object value = getter.invoke(source, BeanAccessor.NO_ARGS);
+            if (value == null) {
+                return;
+            }
+            if (direct) {
+                setter.method.invoke(target, value);
+            } else if (converter != null) {
+                setter.method.invoke(target, converter.convert(value, setter.type));
+            } else {
+                setter.set(target, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.hwangjr.utils.basic;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of metadata by class, which does not pin the class loaders.
+ * <ul>
+ * <li>the class loaded by the class loader of this library, its parents or the bootstrap class loader can not be
+ * unloaded before this library, it is kept in a {@link ConcurrentHashMap}, so the lookup is as fast as a plain map.</li>
+ * <li>other class, e.g. loaded by a plugin class loader, is kept by weak key and soft value in another
+ * {@link ConcurrentHashMap}, the lookup is lock free too. the metadata usually references the class itself, the soft
+ * value is cleared under memory pressure, then the weak key lets the class and its class loader be unloaded.
+ * this part can be bounded, the least recently used entry is evicted, so a class which is not in use any more is
+ * released without waiting for memory pressure.</li>
+ * </ul>
+ *
+ * @param <V> type of the metadata
+ */
+public final class ClassCache<V> {
+    private static final ClassLoader LOADER = ClassCache.class.getClassLoader();
+
+    private final ConcurrentMap<Class<?>, V> strongCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, ForeignEntry<V>> foreignCache = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Class<?>> queue = new ReferenceQueue<>();
+    private final int maxForeignSize;
+
+    /**
+     * advanced by 2 when a foreign entry is cached, the entry is stamped with the new even tick, and the access later
+     * stamps it with the next odd tick, so it is newer than the last cached entry. the read only writes the stamp when
+     * it is changed, so the lookups of a hot class do not write the shared entry between two writes.
+     */
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * create the cache without size bound.
+     */
+    public ClassCache() {
+        this(0);
+    }
+
+    /**
+     * @param maxForeignSize the max count of the cached foreign classes, 0 means no bound
+     */
+    public ClassCache(int maxForeignSize) {
+        if (maxForeignSize < 0) {
+            throw new IllegalArgumentException("maxForeignSize < 0");
+        }
+        this.maxForeignSize = maxForeignSize;
+    }
+
+    /**
+     * get the cached value of the class, return null if absent.
+     */
+    public V get(Class<?> type) {
+        V value = strongCache.get(type);
+        if (value != null || foreignCache.isEmpty()) {
+            return value;
+        }
+        ForeignEntry<V> entry = foreignCache.get(new ClassKey(type));
+        if (entry == null) {
+            return null;
+        }
+        entry.touch(clock.get() + 1);
+        return entry.get();
+    }
+
+    /**
+     * cache the value of the class if absent.
+     *
+     * @return the exists value, or the given value if absent
+     */
+    public V putIfAbsent(Class<?> type, V value) {
+        if (isCacheSafe(type)) {
+            V old = strongCache.putIfAbsent(type, value);
+            return old == null ? value : old;
+        }
+        expungeStaleEntries();
+        WeakClassKey key = new WeakClassKey(type, queue);
+        ForeignEntry<V> entry = new ForeignEntry<>(value, clock.addAndGet(2));
+        while (true) {
+            ForeignEntry<V> oldEntry = foreignCache.putIfAbsent(key, entry);
+            if (oldEntry == null) {
+                break;
+            }
+            V old = oldEntry.get();
+            if (old != null) {
+                oldEntry.touch(clock.get() + 1);
+                return old;
+            }
+            if (foreignCache.replace(key, oldEntry, entry)) {
+                break;
+            }
+        }
+        if (maxForeignSize > 0) {
+            evictLeastRecentlyUsed();
+        }
+        return value;
+    }
+
+    /**
+     * remove the cached value of the class.
+     */
+    public void remove(Class<?> type) {
+        if (strongCache.remove(type) == null) {
+            foreignCache.remove(new ClassKey(type));
+        }
+    }
+
+    /**
+     * remove all the cached values.
+     */
+    public void clear() {
+        strongCache.clear();
+        foreignCache.clear();
+    }
+
+    /**
+     * whether the class can be kept strongly, which means it can not be unloaded before this library.
+     */
+    public static boolean isCacheSafe(Class<?> type) {
+        return isCacheSafe(type, LOADER);
+    }
+
+    /**
+     * whether the class is loaded by the given class loader, its parents or the bootstrap class loader.
+     */
+    public static boolean isCacheSafe(Class<?> type, ClassLoader loader) {
+        ClassLoader target = type.getClassLoader();
+        if (target == null) {
+            return true;
+        }
+        for (ClassLoader current = loader; current != null; current = current.getParent()) {
+            if (current == target) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * evict the entries of the oldest access tick until the size is in bound, called on write only.
+     */
+    private void evictLeastRecentlyUsed() {
+        while (foreignCache.size() > maxForeignSize) {
+            Map.Entry<Object, ForeignEntry<V>> eldest = null;
+            for (Map.Entry<Object, ForeignEntry<V>> entry : foreignCache.entrySet()) {
+                if (eldest == null || entry.getValue().accessTick - eldest.getValue().accessTick < 0) {
+                    eldest = entry;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            foreignCache.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    /**
+     * remove the entries whose class is collected, called on write only.
+     */
+    private void expungeStaleEntries() {
+        Reference<? extends Class<?>> reference;
+        while ((reference = queue.poll()) != null) {
+            foreignCache.remove(reference);
+        }
+    }
+
+    /**
+     * soft value of the foreign cache with the tick of its last access.
+     */
+    private static final class ForeignEntry<V> extends SoftReference<V> {
+        private volatile long accessTick;
+
+        ForeignEntry(V value, long accessTick) {
+            super(value);
+            this.accessTick = accessTick;
+        }
+
+        void touch(long tick) {
+            if (accessTick != tick) {
+                accessTick = tick;
+            }
+        }
+    }
+
+    /**
+     * key to lookup the foreign cache.
+     */
+    private static final class ClassKey {
+        private final Class<?> type;
+
+        ClassKey(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof WeakClassKey && ((WeakClassKey) o).get() == type;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(type);
+        }
+    }
+
+    /**
+     * weak key of the foreign cache.
+     */
+    private static final class WeakClassKey extends WeakReference<Class<?>> {
+        private final int hash;
+
+        WeakClassKey(Class<?> type, ReferenceQueue<Class<?>> queue) {
+            super(type, queue);
+            this.hash = System.identityHashCode(type);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o instanceof WeakClassKey) {
+                Class<?> type = get();
+                return type != null && type == ((WeakClassKey) o).get();
+            }
+            return o instanceof ClassKey && o.equals(this);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
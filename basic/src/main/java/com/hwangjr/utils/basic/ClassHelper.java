@@ -2,37 +2,68 @@ package com.hwangjr.utils.basic;
 
 import android.text.TextUtils;
 
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
-import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Collection;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 public class ClassHelper {
     public static final String CLASS_EXTENSION = ".class";
     public static final String JAVA_EXTENSION = ".java";
 
-    private static final ConcurrentMap<Class<?>, Map<String, Method>> GETTER_CACHE
-            = new ConcurrentHashMap<>();
+    /**
+     * max count of the cached classes which are not loaded by the class loader of this library, per cache.
+     */
+    private static final int MAX_FOREIGN_CLASSES = 1024;
+
+    /**
+     * max count of the cached "no such method" results of a class, the later ones are resolved every time.
+     */
+    private static final int MAX_MISSING_METHODS = 64;
+
+    /**
+     * the method cache hits are counted in stripes by thread, each stripe is padded to its own cache line.
+     */
+    private static final int HIT_COUNT_STRIPES = 16;
+    private static final int HIT_COUNT_PADDING = 8;
+
+    private static final ClassCache<BeanAccessor> GETTER_CACHE
+            = new ClassCache<>(MAX_FOREIGN_CLASSES);
     private static final ConcurrentMap<String, Class<?>> CLASS_CACHE
             = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, WeakReference<Class<?>>> FOREIGN_CLASS_CACHE
+            = new ConcurrentHashMap<>();
+    private static final ClassCache<MethodTable> METHOD_CACHE
+            = new ClassCache<>(MAX_FOREIGN_CLASSES);
+    private static final AtomicLongArray METHOD_CACHE_HIT_COUNTS
+            = new AtomicLongArray(HIT_COUNT_STRIPES * HIT_COUNT_PADDING);
+    private static final AtomicLong METHOD_CACHE_MISS_COUNT = new AtomicLong();
+    private static final ClassCache<ConcurrentMap<String, PropertyReader>> PROPERTY_CACHE
+            = new ClassCache<>(MAX_FOREIGN_CLASSES);
+    private static final ClassCache<ConcurrentMap<Integer, Object>> GENERIC_CACHE
+            = new ClassCache<>(MAX_FOREIGN_CLASSES);
+    private static final ClassCache<TypeInfo> TYPE_INFO_CACHE
+            = new ClassCache<>(MAX_FOREIGN_CLASSES);
+    private static final ClassCache<Instantiator> INSTANTIATOR_CACHE
+            = new ClassCache<>(MAX_FOREIGN_CLASSES);
 
     static {
         CLASS_CACHE.put("boolean", boolean.class);
@@ -119,13 +150,34 @@ public class ClassHelper {
      * @return
      */
     public static Object newInstance(String className) {
-        try {
-            return forName(className).newInstance();
-        } catch (InstantiationException e) {
-            throw new IllegalStateException(e.getMessage(), e);
-        } catch (IllegalAccessException e) {
-            throw new IllegalStateException(e.getMessage(), e);
+        return newInstance(forName(className));
+    }
+
+    /**
+     * New instance for the given class by its no-arg constructor.
+     * <p/>
+     * The constructor is resolved once and cached, the common collection interfaces are created by their default
+     * implementation, like: {@link java.util.ArrayList} for {@link java.util.List}, {@link HashMap} for {@link Map}.
+     * The class which can not be instantiated is also cached and fails fast.
+     *
+     * @param type
+     * @return
+     * @throws IllegalStateException if the class can not be instantiated
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T newInstance(Class<T> type) {
+        return (T) getInstantiator(type).newInstance();
+    }
+
+    /**
+     * get the cached instantiator of the given class, resolve it if absent.
+     */
+    static Instantiator getInstantiator(Class<?> type) {
+        Instantiator instantiator = INSTANTIATOR_CACHE.get(type);
+        if (instantiator == null) {
+            instantiator = INSTANTIATOR_CACHE.putIfAbsent(type, Instantiator.build(type));
         }
+        return instantiator;
     }
 
     /**
@@ -207,6 +259,9 @@ public class ClassHelper {
         }
         String key = name;
         Class<?> clazz = CLASS_CACHE.get(key);
+        if (clazz == null) {
+            clazz = getForeignClass(key);
+        }
         if (clazz == null) {
             int index = name.indexOf('[');
             if (index > 0) {
@@ -245,62 +300,84 @@ public class ClassHelper {
             } catch (ClassNotFoundException cne) {
                 clazz = Class.forName(name);
             }
-            Class<?> old = CLASS_CACHE.putIfAbsent(key, clazz);
-            if (old != null) {
-                clazz = old;
+            if (ClassCache.isCacheSafe(clazz)) {
+                Class<?> old = CLASS_CACHE.putIfAbsent(key, clazz);
+                if (old != null) {
+                    clazz = old;
+                }
+            } else {
+                putForeignClass(key, clazz);
             }
         }
         return clazz;
     }
 
+    /**
+     * get the cached class which is not loaded by the class loader of this library.
+     */
+    private static Class<?> getForeignClass(String name) {
+        if (FOREIGN_CLASS_CACHE.isEmpty()) {
+            return null;
+        }
+        WeakReference<Class<?>> reference = FOREIGN_CLASS_CACHE.get(name);
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * cache the class which is not loaded by the class loader of this library by weak reference.
+     * when there are too many names, the collected classes are removed first, then the arbitrary ones.
+     */
+    private static void putForeignClass(String name, Class<?> clazz) {
+        FOREIGN_CLASS_CACHE.put(name, new WeakReference<Class<?>>(clazz));
+        if (FOREIGN_CLASS_CACHE.size() > MAX_FOREIGN_CLASSES) {
+            Iterator<WeakReference<Class<?>>> iterator = FOREIGN_CLASS_CACHE.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().get() == null) {
+                    iterator.remove();
+                }
+            }
+            iterator = FOREIGN_CLASS_CACHE.values().iterator();
+            while (FOREIGN_CLASS_CACHE.size() > MAX_FOREIGN_CLASSES && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * get the cached metadata of the given class, build it if absent.
+     */
+    static TypeInfo getTypeInfo(Class<?> type) {
+        TypeInfo info = TYPE_INFO_CACHE.get(type);
+        if (info == null) {
+            info = TYPE_INFO_CACHE.putIfAbsent(type, TypeInfo.build(type));
+        }
+        return info;
+    }
+
     /**
      * get unboxed type of class.
      */
     public static Class<?> getUnboxedClass(Class<?> type) {
-        if (type == Boolean.class) {
-            return boolean.class;
-        } else if (type == Character.class) {
-            return char.class;
-        } else if (type == Byte.class) {
-            return byte.class;
-        } else if (type == Short.class) {
-            return short.class;
-        } else if (type == Integer.class) {
-            return int.class;
-        } else if (type == Long.class) {
-            return long.class;
-        } else if (type == Float.class) {
-            return float.class;
-        } else if (type == Double.class) {
-            return double.class;
-        } else {
-            return type;
-        }
+        return type == null ? null : getTypeInfo(type).unboxedType;
     }
 
     /**
      * get boxed type of class
      */
     public static Class<?> getBoxedClass(Class<?> type) {
-        if (type == boolean.class) {
-            return Boolean.class;
-        } else if (type == char.class) {
-            return Character.class;
-        } else if (type == byte.class) {
-            return Byte.class;
-        } else if (type == short.class) {
-            return Short.class;
-        } else if (type == int.class) {
-            return Integer.class;
-        } else if (type == long.class) {
-            return Long.class;
-        } else if (type == float.class) {
-            return Float.class;
-        } else if (type == double.class) {
-            return Double.class;
-        } else {
-            return type;
-        }
+        return type == null ? null : getTypeInfo(type).boxedType;
+    }
+
+    /**
+     * get the default value of the type.
+     * 0 for byte, short, int, long, float and double.
+     * '\0' for char,
+     * false for boolean,
+     * null for others.
+     */
+    public static Object getDefaultValue(Class<?> type) {
+        return type == null ? null : getTypeInfo(type).defaultValue;
     }
 
     /**
@@ -510,31 +587,8 @@ public class ClassHelper {
     public static int getSize(Object object) {
         if (object == null) {
             return 0;
-        } else if (object instanceof Collection<?>) {
-            return ((Collection<?>) object).size();
-        } else if (object instanceof Map<?, ?>) {
-            return ((Map<?, ?>) object).size();
-        } else if (object instanceof Object[]) {
-            return ((Object[]) object).length;
-        } else if (object instanceof int[]) {
-            return ((int[]) object).length;
-        } else if (object instanceof long[]) {
-            return ((long[]) object).length;
-        } else if (object instanceof float[]) {
-            return ((float[]) object).length;
-        } else if (object instanceof double[]) {
-            return ((double[]) object).length;
-        } else if (object instanceof short[]) {
-            return ((short[]) object).length;
-        } else if (object instanceof byte[]) {
-            return ((byte[]) object).length;
-        } else if (object instanceof char[]) {
-            return ((char[]) object).length;
-        } else if (object instanceof boolean[]) {
-            return ((boolean[]) object).length;
-        } else {
-            return -1;
         }
+        return getTypeInfo(object.getClass()).sizer.size(object);
     }
 
     /**
@@ -570,46 +624,91 @@ public class ClassHelper {
 
     /**
      * get generic class by actual type argument index.
+     * <p/>
+     * it checks the first generic interface, then the generic super class, and walks up the hierarchy.
+     * the type variable is resolved by the type arguments given by the subclasses.
+     * both the resolved class and the "undefined" result are cached by class and index.
      */
     public static Class<?> getGenericClass(Class<?> cls, int actualTypeArgIndex) {
-        try {
+        ConcurrentMap<Integer, Object> generics = GENERIC_CACHE.get(cls);
+        if (generics == null) {
+            generics = GENERIC_CACHE.putIfAbsent(cls, new ConcurrentHashMap<Integer, Object>());
+        }
+        Object result = generics.get(actualTypeArgIndex);
+        if (result == null) {
+            result = resolveGenericClass(cls, actualTypeArgIndex);
+            generics.putIfAbsent(actualTypeArgIndex, result);
+        }
+        if (result instanceof Class) {
+            return (Class<?>) result;
+        }
+        throw new IllegalArgumentException(result + " generic type undefined!");
+    }
+
+    /**
+     * @return the resolved class, or the name of the top class checked if undefined.
+     */
+    private static Object resolveGenericClass(Class<?> cls, int actualTypeArgIndex) {
+        Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+        Class<?> current = cls;
+        while (true) {
+            Type[] genericInterfaces = current.getGenericInterfaces();
+            Type genericSuperclass = current.getGenericSuperclass();
             ParameterizedType parameterizedType;
-            if (cls.getGenericInterfaces().length > 0 &&
-                    cls.getGenericInterfaces()[0] instanceof ParameterizedType) {
-                parameterizedType
-                        = ((ParameterizedType) cls.getGenericInterfaces()[0]);
-            } else if (cls.getGenericSuperclass() instanceof ParameterizedType) {
-                parameterizedType
-                        = (ParameterizedType) cls.getGenericSuperclass();
+            if (genericInterfaces.length > 0 &&
+                    genericInterfaces[0] instanceof ParameterizedType) {
+                parameterizedType = (ParameterizedType) genericInterfaces[0];
+            } else if (genericSuperclass instanceof ParameterizedType) {
+                parameterizedType = (ParameterizedType) genericSuperclass;
             } else {
                 parameterizedType = null;
             }
             if (parameterizedType != null) {
-                Object genericClass
-                        = parameterizedType.getActualTypeArguments()[actualTypeArgIndex];
-                if (genericClass instanceof ParameterizedType) {
-                    return (Class<?>) ((ParameterizedType) genericClass).getRawType();
-                } else if (genericClass instanceof GenericArrayType) {
-                    Class<?> componentType
-                            = (Class<?>) ((GenericArrayType) genericClass).getGenericComponentType();
-                    if (componentType.isArray()) {
-                        return componentType;
-                    } else {
-                        return Array.newInstance(componentType, 0).getClass();
+                Type[] arguments = parameterizedType.getActualTypeArguments();
+                if (actualTypeArgIndex >= 0 && actualTypeArgIndex < arguments.length) {
+                    Class<?> genericClass = toRawClass(arguments[actualTypeArgIndex], bindings);
+                    if (genericClass != null) {
+                        return genericClass;
                     }
-                } else if (genericClass instanceof Class) {
-                    return (Class<?>) genericClass;
                 }
             }
-        } catch (Exception e) {
+            Class<?> superclass = current.getSuperclass();
+            if (superclass == null || superclass == Object.class) {
+                return current.getName();
+            }
+            if (genericSuperclass instanceof ParameterizedType) {
+                Type[] arguments = ((ParameterizedType) genericSuperclass).getActualTypeArguments();
+                TypeVariable<?>[] variables = superclass.getTypeParameters();
+                for (int i = 0; i < variables.length && i < arguments.length; i++) {
+                    Type argument = arguments[i];
+                    if (argument instanceof TypeVariable && bindings.containsKey(argument)) {
+                        argument = bindings.get(argument);
+                    }
+                    bindings.put(variables[i], argument);
+                }
+            }
+            current = superclass;
         }
-        if (cls.getSuperclass() != null &&
-                cls.getSuperclass() != Object.class) {
-            return getGenericClass(cls.getSuperclass(), actualTypeArgIndex);
-        } else {
-            throw new IllegalArgumentException(
-                    cls.getName() + " generic type undefined!");
+    }
+
+    /**
+     * convert the type to raw class, the type variable is resolved by the bindings.
+     *
+     * @return the raw class, or null if the type can not be resolved.
+     */
+    private static Class<?> toRawClass(Type type, Map<TypeVariable<?>, Type> bindings) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        } else if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        } else if (type instanceof GenericArrayType) {
+            Class<?> componentType = toRawClass(((GenericArrayType) type).getGenericComponentType(), bindings);
+            return componentType == null ? null : Array.newInstance(componentType, 0).getClass();
+        } else if (type instanceof TypeVariable) {
+            Type bound = bindings.get(type);
+            return bound == null || bound instanceof TypeVariable ? null : toRawClass(bound, bindings);
         }
+        return null;
     }
 
     /**
@@ -656,6 +755,21 @@ public class ClassHelper {
         }
     }
 
+    /**
+     * make throwable to string, render at most maxFrames frames of each throwable and maxCauses causes.
+     *
+     * @see StackTraceRenderer
+     */
+    public static String toString(Throwable throwable, int maxFrames, int maxCauses) {
+        StringBuilder builder = new StringBuilder(256);
+        builder.append(throwable.getClass().getName()).append(": ");
+        if (throwable.getMessage() != null) {
+            builder.append(throwable.getMessage()).append('\n');
+        }
+        builder.append('\n');
+        return new StackTraceRenderer(maxFrames, maxCauses).render(throwable, builder).toString();
+    }
+
     /**
      * max JIT length
      */
@@ -691,41 +805,93 @@ public class ClassHelper {
      * it will try the Array.length() and Map.get(),
      * then it will try get'Name' and is'Name',
      * last, it will to find the name by invoke field.
+     * <p/>
+     * the resolved strategy is cached by class and name, see {@link #getPropertyReader(Class, String)}.
      */
     public static Object searchProperty(Object leftParameter, String name)
             throws Exception {
-        Class<?> leftClass = leftParameter.getClass();
-        Object result;
-        if (leftParameter.getClass().isArray() && "length".equals(name)) {
-            result = Array.getLength(leftParameter);
-        } else if (leftParameter instanceof Map) {
-            result = ((Map<Object, Object>) leftParameter).get(name);
-        } else {
-            try {
-                String getter = "get" + name.substring(0, 1).toUpperCase() +
-                        name.substring(1);
-                Method method = leftClass.getMethod(getter, new Class<?>[0]);
-                if (!method.isAccessible()) {
-                    method.setAccessible(true);
+        if (leftParameter instanceof Map) {
+            return ((Map<?, ?>) leftParameter).get(name);
+        }
+        return getPropertyReader(leftParameter.getClass(), name).read(leftParameter);
+    }
+
+    /**
+     * get the cached reader of the name property for the given class, resolve it if absent.
+     * the reader of map and the missing property are not cached, their names are arbitrary.
+     */
+    static PropertyReader getPropertyReader(Class<?> type, final String name) {
+        if (Map.class.isAssignableFrom(type)) {
+            return new PropertyReader() {
+                @Override
+                Object read(Object target) {
+                    return ((Map<?, ?>) target).get(name);
                 }
-                result = method.invoke(leftParameter, new Object[0]);
-            } catch (NoSuchMethodException e2) {
-                try {
-                    String getter = "is" + name.substring(0, 1).toUpperCase() +
-                            name.substring(1);
-                    Method method = leftClass.getMethod(getter,
-                            new Class<?>[0]);
-                    if (!method.isAccessible()) {
-                        method.setAccessible(true);
-                    }
-                    result = method.invoke(leftParameter, new Object[0]);
-                } catch (NoSuchMethodException e3) {
-                    Field field = leftClass.getField(name);
-                    result = field.get(leftParameter);
+            };
+        }
+        ConcurrentMap<String, PropertyReader> readers = PROPERTY_CACHE.get(type);
+        PropertyReader reader = readers == null ? null : readers.get(name);
+        if (reader != null) {
+            return reader;
+        }
+        reader = resolvePropertyReader(type, name);
+        if (reader == null) {
+            return new PropertyReader() {
+                @Override
+                Object read(Object target) throws Exception {
+                    throw new CachedNoSuchFieldException(name);
                 }
+            };
+        }
+        if (readers == null) {
+            readers = PROPERTY_CACHE.putIfAbsent(type, new ConcurrentHashMap<String, PropertyReader>());
+        }
+        PropertyReader old = readers.putIfAbsent(name, reader);
+        return old == null ? reader : old;
+    }
+
+    /**
+     * @return null if there is no such property
+     */
+    private static PropertyReader resolvePropertyReader(Class<?> type, String name) {
+        if (type.isArray() && "length".equals(name)) {
+            return PropertyReader.ARRAY_LENGTH;
+        }
+        if (name.length() > 0) {
+            String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            Method method = findNoArgMethod(type, "get" + suffix);
+            if (method == null) {
+                method = findNoArgMethod(type, "is" + suffix);
+            }
+            if (method != null) {
+                final Method getter = BeanAccessor.makeAccessible(method);
+                return new PropertyReader() {
+                    @Override
+                    Object read(Object target) throws Exception {
+                        return getter.invoke(target, BeanAccessor.NO_ARGS);
+                    }
+                };
             }
+            try {
+                final Field field = type.getField(name);
+                return new PropertyReader() {
+                    @Override
+                    Object read(Object target) throws Exception {
+                        return field.get(target);
+                    }
+                };
+            } catch (NoSuchFieldException e) {
+            }
+        }
+        return null;
+    }
+
+    private static Method findNoArgMethod(Class<?> type, String name) {
+        try {
+            return type.getMethod(name, new Class<?>[0]);
+        } catch (NoSuchMethodException e) {
+            return null;
         }
-        return result;
     }
 
     /**
@@ -740,12 +906,78 @@ public class ClassHelper {
      * search the method and return the defined method.
      * it will {@link Class#getMethod(String, Class[])}, if exception occurs,
      * it will search for all methods, and find the most fit method.
+     * <p/>
+     * both the found method and the "no such method" result are cached, at most {@link #MAX_MISSING_METHODS}
+     * "no such method" results are cached for a class, see {@link #getMethodCacheHitCount()} and
+     * {@link #getMethodCacheMissCount()}.
+     * null parameterTypes means no parameter, like {@link Class#getMethod(String, Class[])}.
      */
     public static Method searchMethod(Class<?> currentClass, String name, Class<?>[] parameterTypes, boolean boxed)
             throws NoSuchMethodException {
         if (currentClass == null) {
             throw new NoSuchMethodException("class == null");
         }
+        if (parameterTypes == null) {
+            parameterTypes = new Class<?>[0];
+        }
+        MethodTable table = METHOD_CACHE.get(currentClass);
+        if (table == null) {
+            table = METHOD_CACHE.putIfAbsent(currentClass, new MethodTable());
+        }
+        Object cached = MethodEntry.find(table.methods.get(name), parameterTypes, boxed);
+        if (cached != null) {
+            METHOD_CACHE_HIT_COUNTS.incrementAndGet(
+                    (int) (Thread.currentThread().getId() % HIT_COUNT_STRIPES) * HIT_COUNT_PADDING);
+        } else {
+            METHOD_CACHE_MISS_COUNT.incrementAndGet();
+            try {
+                cached = resolveMethod(currentClass, name, parameterTypes, boxed);
+            } catch (NoSuchMethodException e) {
+                cached = new NoSuchMethodResult(e.getMessage());
+            }
+            if (isCacheSafe(parameterTypes, currentClass.getClassLoader()) &&
+                    (!(cached instanceof NoSuchMethodResult) || table.reserveMissing())) {
+                MethodEntry.add(table.methods, name, new MethodEntry(parameterTypes.clone(), boxed, cached));
+            }
+        }
+        if (cached instanceof NoSuchMethodResult) {
+            throw new CachedNoSuchMethodException(((NoSuchMethodResult) cached).message);
+        }
+        return (Method) cached;
+    }
+
+    /**
+     * count of {@link #searchMethod(Class, String, Class[], boolean)} calls answered by the cache.
+     */
+    public static long getMethodCacheHitCount() {
+        long count = 0;
+        for (int i = 0; i < HIT_COUNT_STRIPES; i++) {
+            count += METHOD_CACHE_HIT_COUNTS.get(i * HIT_COUNT_PADDING);
+        }
+        return count;
+    }
+
+    /**
+     * count of {@link #searchMethod(Class, String, Class[], boolean)} calls resolved by reflection.
+     */
+    public static long getMethodCacheMissCount() {
+        return METHOD_CACHE_MISS_COUNT.get();
+    }
+
+    /**
+     * whether the types can be kept by the cache of the class which is loaded by the given class loader.
+     */
+    private static boolean isCacheSafe(Class<?>[] types, ClassLoader loader) {
+        for (Class<?> type : types) {
+            if (type != null && !ClassCache.isCacheSafe(type, loader)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Method resolveMethod(Class<?> currentClass, String name, Class<?>[] parameterTypes, boolean boxed)
+            throws NoSuchMethodException {
         try {
             return currentClass.getMethod(name, parameterTypes);
         } catch (NoSuchMethodException e) {
@@ -802,42 +1034,14 @@ public class ClassHelper {
      * null for others.
      */
     public static String getInitValue(Class<?> type) {
-        if (byte.class.equals(type) || short.class.equals(type) ||
-                int.class.equals(type) || long.class.equals(type) ||
-                float.class.equals(type) || double.class.equals(type)) {
-            return "0";
-        } else if (char.class.equals(type)) {
-            return "'\\0'";
-        } else if (boolean.class.equals(type)) {
-            return "false";
-        } else {
-            return "null";
-        }
+        return type == null ? "null" : getTypeInfo(type).initValue;
     }
 
     /**
      * this will return the init value with type name.
      */
     public static String getInitValueWithType(Class<?> type) {
-        if (byte.class.equals(type)) {
-            return "(byte) 0";
-        } else if (short.class.equals(type)) {
-            return "(short) 0";
-        } else if (int.class.equals(type)) {
-            return "0";
-        } else if (long.class.equals(type)) {
-            return "0l";
-        } else if (float.class.equals(type)) {
-            return "0f";
-        } else if (double.class.equals(type)) {
-            return "0d";
-        } else if (char.class.equals(type)) {
-            return "'\\0'";
-        } else if (boolean.class.equals(type)) {
-            return "false";
-        } else {
-            return "(" + type.getCanonicalName() + ") null";
-        }
+        return getTypeInfo(type).initValueWithType;
     }
 
     /**
@@ -887,6 +1091,9 @@ public class ClassHelper {
         if (value instanceof Number) {
             return ((Number) value).intValue();
         }
+        if (value instanceof CharSequence) {
+            return toInt((CharSequence) value);
+        }
         return value == null ? 0 : toInt(String.valueOf(value));
     }
 
@@ -897,6 +1104,9 @@ public class ClassHelper {
         if (value instanceof Number) {
             return ((Number) value).longValue();
         }
+        if (value instanceof CharSequence) {
+            return toLong((CharSequence) value);
+        }
         return value == null ? 0 : toLong(String.valueOf(value));
     }
 
@@ -907,6 +1117,9 @@ public class ClassHelper {
         if (value instanceof Number) {
             return ((Number) value).floatValue();
         }
+        if (value instanceof CharSequence) {
+            return toFloat((CharSequence) value);
+        }
         return value == null ? 0 : toFloat(String.valueOf(value));
     }
 
@@ -917,6 +1130,9 @@ public class ClassHelper {
         if (value instanceof Number) {
             return ((Number) value).doubleValue();
         }
+        if (value instanceof CharSequence) {
+            return toDouble((CharSequence) value);
+        }
         return value == null ? 0 : toDouble(String.valueOf(value));
     }
 
@@ -962,28 +1178,176 @@ public class ClassHelper {
      * parse value to int
      */
     public static int toInt(String value) {
-        return TextUtils.isEmpty(value) ? 0 : Integer.parseInt(value);
+        return toInt((CharSequence) value);
     }
 
     /**
      * parse value to long
      */
     public static long toLong(String value) {
-        return TextUtils.isEmpty(value) ? 0 : Long.parseLong(value);
+        return toLong((CharSequence) value);
     }
 
     /**
      * parse value to float
      */
     public static float toFloat(String value) {
-        return TextUtils.isEmpty(value) ? 0 : Float.parseFloat(value);
+        return toFloat((CharSequence) value);
     }
 
     /**
      * parse value to double
      */
     public static double toDouble(String value) {
-        return TextUtils.isEmpty(value) ? 0 : Double.parseDouble(value);
+        return toDouble((CharSequence) value);
+    }
+
+    /**
+     * parse value to int, without creating String for the plain decimal input.
+     *
+     * @throws NumberFormatException if value is invalid
+     */
+    public static int toInt(CharSequence value) {
+        return ObjectHelper.isEmpty(value) ? 0 :
+                (int) NumberParser.parseLong(value, null, 0, value.length(), true, 0, true);
+    }
+
+    /**
+     * parse value to long, without creating String for the plain decimal input.
+     *
+     * @throws NumberFormatException if value is invalid
+     */
+    public static long toLong(CharSequence value) {
+        return ObjectHelper.isEmpty(value) ? 0 :
+                NumberParser.parseLong(value, null, 0, value.length(), false, 0, true);
+    }
+
+    /**
+     * parse value to float, without creating String for the plain decimal input.
+     *
+     * @throws NumberFormatException if value is invalid
+     */
+    public static float toFloat(CharSequence value) {
+        return ObjectHelper.isEmpty(value) ? 0 :
+                (float) NumberParser.parseDouble(value, null, 0, value.length(), true, 0, true);
+    }
+
+    /**
+     * parse value to double, without creating String for the plain decimal input.
+     *
+     * @throws NumberFormatException if value is invalid
+     */
+    public static double toDouble(CharSequence value) {
+        return ObjectHelper.isEmpty(value) ? 0 :
+                NumberParser.parseDouble(value, null, 0, value.length(), false, 0, true);
+    }
+
+    /**
+     * parse value to int, return defaultValue if value is empty or invalid.
+     */
+    public static int toInt(CharSequence value, int defaultValue) {
+        return ObjectHelper.isEmpty(value) ? defaultValue : toInt(value, 0, value.length(), defaultValue);
+    }
+
+    /**
+     * parse value[start, end) to int, return defaultValue if it is empty or invalid.
+     *
+     * @throws IndexOutOfBoundsException if the range is out of value
+     */
+    public static int toInt(CharSequence value, int start, int end, int defaultValue) {
+        return value == null ? defaultValue :
+                (int) NumberParser.parseLong(value, null, start, end, true, defaultValue, false);
+    }
+
+    /**
+     * parse value[start, end) to int, return defaultValue if it is empty or invalid.
+     *
+     * @throws IndexOutOfBoundsException if the range is out of value
+     */
+    public static int toInt(char[] value, int start, int end, int defaultValue) {
+        return value == null ? defaultValue :
+                (int) NumberParser.parseLong(null, value, start, end, true, defaultValue, false);
+    }
+
+    /**
+     * parse value to long, return defaultValue if value is empty or invalid.
+     */
+    public static long toLong(CharSequence value, long defaultValue) {
+        return ObjectHelper.isEmpty(value) ? defaultValue : toLong(value, 0, value.length(), defaultValue);
+    }
+
+    /**
+     * parse value[start, end) to long, return defaultValue if it is empty or invalid.
+     *
+     * @throws IndexOutOfBoundsException if the range is out of value
+     */
+    public static long toLong(CharSequence value, int start, int end, long defaultValue) {
+        return value == null ? defaultValue :
+                NumberParser.parseLong(value, null, start, end, false, defaultValue, false);
+    }
+
+    /**
+     * parse value[start, end) to long, return defaultValue if it is empty or invalid.
+     *
+     * @throws IndexOutOfBoundsException if the range is out of value
+     */
+    public static long toLong(char[] value, int start, int end, long defaultValue) {
+        return value == null ? defaultValue :
+                NumberParser.parseLong(null, value, start, end, false, defaultValue, false);
+    }
+
+    /**
+     * parse value to float, return defaultValue if value is empty or invalid.
+     */
+    public static float toFloat(CharSequence value, float defaultValue) {
+        return ObjectHelper.isEmpty(value) ? defaultValue : toFloat(value, 0, value.length(), defaultValue);
+    }
+
+    /**
+     * parse value[start, end) to float, return defaultValue if it is empty or invalid.
+     *
+     * @throws IndexOutOfBoundsException if the range is out of value
+     */
+    public static float toFloat(CharSequence value, int start, int end, float defaultValue) {
+        return value == null ? defaultValue :
+                (float) NumberParser.parseDouble(value, null, start, end, true, defaultValue, false);
+    }
+
+    /**
+     * parse value[start, end) to float, return defaultValue if it is empty or invalid.
+     *
+     * @throws IndexOutOfBoundsException if the range is out of value
+     */
+    public static float toFloat(char[] value, int start, int end, float defaultValue) {
+        return value == null ? defaultValue :
+                (float) NumberParser.parseDouble(null, value, start, end, true, defaultValue, false);
+    }
+
+    /**
+     * parse value to double, return defaultValue if value is empty or invalid.
+     */
+    public static double toDouble(CharSequence value, double defaultValue) {
+        return ObjectHelper.isEmpty(value) ? defaultValue : toDouble(value, 0, value.length(), defaultValue);
+    }
+
+    /**
+     * parse value[start, end) to double, return defaultValue if it is empty or invalid.
+     *
+     * @throws IndexOutOfBoundsException if the range is out of value
+     */
+    public static double toDouble(CharSequence value, int start, int end, double defaultValue) {
+        return value == null ? defaultValue :
+                NumberParser.parseDouble(value, null, start, end, false, defaultValue, false);
+    }
+
+    /**
+     * parse value[start, end) to double, return defaultValue if it is empty or invalid.
+     *
+     * @throws IndexOutOfBoundsException if the range is out of value
+     */
+    public static double toDouble(char[] value, int start, int end, double defaultValue) {
+        return value == null ? defaultValue :
+                NumberParser.parseDouble(null, value, start, end, false, defaultValue, false);
     }
 
     /**
@@ -993,35 +1357,22 @@ public class ClassHelper {
         return TextUtils.isEmpty(value) ? null : forName(value);
     }
 
+    /**
+     * get the cached accessor table of the given class, build it if absent.
+     */
+    static BeanAccessor getAccessor(Class<?> type) {
+        BeanAccessor accessor = GETTER_CACHE.get(type);
+        if (accessor == null) {
+            accessor = GETTER_CACHE.putIfAbsent(type, BeanAccessor.build(type));
+        }
+        return accessor;
+    }
+
     /**
      * get the method start with 'get' or 'is'.
      */
     public static Method getGetter(Object bean, String property) {
-        Map<String, Method> cache = GETTER_CACHE.get(bean.getClass());
-        if (cache == null) {
-            cache = new ConcurrentHashMap<>();
-            for (Method method : bean.getClass().getMethods()) {
-                if (Modifier.isPublic(method.getModifiers()) &&
-                        !Modifier.isStatic(method.getModifiers()) &&
-                        !void.class.equals(method.getReturnType()) &&
-                        method.getParameterTypes().length == 0) {
-                    String name = method.getName();
-                    if (name.length() > 3 && name.startsWith("get")) {
-                        cache.put(name.substring(3, 4).toLowerCase() +
-                                name.substring(4), method);
-                    } else if (name.length() > 2 && name.startsWith("is")) {
-                        cache.put(name.substring(2, 3).toLowerCase() +
-                                name.substring(3), method);
-                    }
-                }
-            }
-            Map<String, Method> old = GETTER_CACHE.putIfAbsent(bean.getClass(),
-                    cache);
-            if (old != null) {
-                cache = old;
-            }
-        }
-        return cache.get(property);
+        return getAccessor(bean.getClass()).getGetter(property);
     }
 
     /**
@@ -1034,10 +1385,7 @@ public class ClassHelper {
         try {
             Method getter = getGetter(bean, property);
             if (getter != null) {
-                if (!getter.isAccessible()) {
-                    getter.setAccessible(true);
-                }
-                return getter.invoke(bean, new Object[0]);
+                return getter.invoke(bean, BeanAccessor.NO_ARGS);
             }
             return null;
         } catch (Exception e) {
@@ -1049,23 +1397,13 @@ public class ClassHelper {
      * find the setter method and set the value.
      */
     public static void setProperties(Object bean, Map<String, Object> properties) {
-        for (Method method : bean.getClass().getMethods()) {
-            String name = method.getName();
-            if (name.length() > 3 && name.startsWith("set") &&
-                    Modifier.isPublic(method.getModifiers()) &&
-                    method.getParameterTypes().length == 1 &&
-                    method.getDeclaringClass() != Object.class) {
-                String key = name.substring(3, 4).toLowerCase() +
-                        name.substring(4);
-                try {
-                    Object value = properties.get(key);
-                    if (value != null) {
-                        method.invoke(bean, new Object[]{
-                                convertCompatibleType(value,
-                                        method.getParameterTypes()[0])});
-                    }
-                } catch (Exception e) {
+        for (BeanAccessor.Setter setter : getAccessor(bean.getClass()).setters) {
+            try {
+                Object value = properties.get(setter.name);
+                if (value != null) {
+                    setter.set(bean, value);
                 }
+            } catch (Exception e) {
             }
         }
     }
@@ -1074,21 +1412,14 @@ public class ClassHelper {
      * find all getter and is method and return the value by map.
      */
     public static Map<String, Object> getProperties(Object bean) {
-        Map<String, Object> map = new HashMap<>();
-        for (Method method : bean.getClass().getMethods()) {
-            String name = method.getName();
-            if (((name.length() > 3 && name.startsWith("get")) ||
-                    (name.length() > 2 && name.startsWith("is"))) &&
-                    Modifier.isPublic(method.getModifiers()) &&
-                    method.getParameterTypes().length == 0 &&
-                    method.getDeclaringClass() != Object.class) {
-                int i = name.startsWith("get") ? 3 : 2;
-                String key = name.substring(i, i + 1).toLowerCase() +
-                        name.substring(i + 1);
-                try {
-                    map.put(key, method.invoke(bean, new Object[0]));
-                } catch (Exception e) {
-                }
+        BeanAccessor accessor = getAccessor(bean.getClass());
+        String[] names = accessor.names;
+        Method[] getters = accessor.getters;
+        Map<String, Object> map = new HashMap<>(getters.length * 4 / 3 + 1);
+        for (int i = 0; i < getters.length; i++) {
+            try {
+                map.put(names[i], getters[i].invoke(bean, BeanAccessor.NO_ARGS));
+            } catch (Exception e) {
             }
         }
         return map;
@@ -1105,6 +1436,28 @@ public class ClassHelper {
         return stringWriter.toString();
     }
 
+    /**
+     * dump the exception to string, render at most maxFrames frames of each throwable and maxCauses causes.
+     *
+     * @see StackTraceRenderer
+     */
+    public static String dumpException(Throwable throwable, int maxFrames, int maxCauses) {
+        StringBuilder builder = new StringBuilder(160);
+        builder.append(throwable.getClass().getName()).append(":\n");
+        return new StackTraceRenderer(maxFrames, maxCauses).render(throwable, builder).toString();
+    }
+
+    /**
+     * dump the exception to the appendable, render at most maxFrames frames of each throwable and maxCauses causes.
+     *
+     * @see StackTraceRenderer
+     */
+    public static void dumpException(Throwable throwable, Appendable appendable, int maxFrames, int maxCauses)
+            throws IOException {
+        appendable.append(throwable.getClass().getName()).append(":\n");
+        new StackTraceRenderer(maxFrames, maxCauses).render(throwable, appendable);
+    }
+
     /**
      * filter the java key word
      */
@@ -1139,12 +1492,7 @@ public class ClassHelper {
     }
 
     /**
-     * default date format.
-     */
-    private static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
-
-    /**
-     * convert value to given type.
+     * convert value to given type by the converter of {@link ConverterRegistry}.
      * null safe.
      *
      * @param value value for convert
@@ -1152,119 +1500,135 @@ public class ClassHelper {
      * @return value while converted
      */
     public static Object convertCompatibleType(Object value, Class<?> type) {
-
-        if (value == null || type == null ||
-                type.isAssignableFrom(value.getClass())) {
+        if (value == null || type == null) {
             return value;
         }
-        if (value instanceof String) {
-            String string = (String) value;
-            if (char.class.equals(type) || Character.class.equals(type)) {
-                if (string.length() != 1) {
-                    throw new IllegalArgumentException(String.format(
-                            "CAN NOT convert String(%s) to char!" +
-                                    " when convert String to char, the String MUST only 1 char.",
-                            string));
-                }
-                return string.charAt(0);
-            } else if (type.isEnum()) {
-                return Enum.valueOf((Class<Enum>) type, string);
-            } else if (type == BigInteger.class) {
-                return new BigInteger(string);
-            } else if (type == BigDecimal.class) {
-                return new BigDecimal(string);
-            } else if (type == Short.class || type == short.class) {
-                return Short.valueOf(string);
-            } else if (type == Integer.class || type == int.class) {
-                return Integer.valueOf(string);
-            } else if (type == Long.class || type == long.class) {
-                return Long.valueOf(string);
-            } else if (type == Double.class || type == double.class) {
-                return Double.valueOf(string);
-            } else if (type == Float.class || type == float.class) {
-                return Float.valueOf(string);
-            } else if (type == Byte.class || type == byte.class) {
-                return Byte.valueOf(string);
-            } else if (type == Boolean.class || type == boolean.class) {
-                return Boolean.valueOf(string);
-            } else if (type == Date.class) {
-                try {
-                    return new SimpleDateFormat(DATE_FORMAT).parse(
-                            (String) value);
-                } catch (ParseException e) {
-                    throw new IllegalStateException(
-                            "Failed to parse date " + value + " by format " +
-                                    DATE_FORMAT + ", cause: " + e.getMessage(),
-                            e);
+        return ConverterRegistry.find(value.getClass(), type).convert(value, type);
+    }
+
+    /**
+     * cached results of {@link #searchMethod(Class, String, Class[], boolean)} for a class.
+     */
+    private static final class MethodTable {
+        private final ConcurrentMap<String, MethodEntry[]> methods = new ConcurrentHashMap<>();
+        private final AtomicInteger missingCount = new AtomicInteger();
+
+        /**
+         * @return whether one more "no such method" result can be cached
+         */
+        boolean reserveMissing() {
+            return missingCount.get() < MAX_MISSING_METHODS && missingCount.incrementAndGet() <= MAX_MISSING_METHODS;
+        }
+    }
+
+    /**
+     * cached result of {@link #searchMethod(Class, String, Class[], boolean)}, the entries of the same method name are
+     * kept in a copy-on-write array, so the lookup does not allocate.
+     */
+    private static final class MethodEntry {
+        private final Class<?>[] parameterTypes;
+        private final boolean boxed;
+
+        /**
+         * the {@link Method} or {@link NoSuchMethodResult}
+         */
+        private final Object result;
+
+        MethodEntry(Class<?>[] parameterTypes, boolean boxed, Object result) {
+            this.parameterTypes = parameterTypes;
+            this.boxed = boxed;
+            this.result = result;
+        }
+
+        /**
+         * @return the cached result, null if absent
+         */
+        static Object find(MethodEntry[] entries, Class<?>[] parameterTypes, boolean boxed) {
+            if (entries != null) {
+                for (MethodEntry entry : entries) {
+                    if (entry.boxed == boxed && Arrays.equals(entry.parameterTypes, parameterTypes)) {
+                        return entry.result;
+                    }
                 }
-            } else if (type == Class.class) {
-                return forName((String) value);
-            }
-        } else if (value instanceof Number) {
-            Number number = (Number) value;
-            if (type == byte.class || type == Byte.class) {
-                return number.byteValue();
-            } else if (type == short.class || type == Short.class) {
-                return number.shortValue();
-            } else if (type == int.class || type == Integer.class) {
-                return number.intValue();
-            } else if (type == long.class || type == Long.class) {
-                return number.longValue();
-            } else if (type == float.class || type == Float.class) {
-                return number.floatValue();
-            } else if (type == double.class || type == Double.class) {
-                return number.doubleValue();
-            } else if (type == BigInteger.class) {
-                return BigInteger.valueOf(number.longValue());
-            } else if (type == BigDecimal.class) {
-                return BigDecimal.valueOf(number.doubleValue());
-            } else if (type == Date.class) {
-                return new Date(number.longValue());
             }
-        } else if (value instanceof Collection) {
-            Collection collection = (Collection) value;
-            if (type.isArray()) {
-                int length = collection.size();
-                Object array = Array.newInstance(type.getComponentType(),
-                        length);
-                int i = 0;
-                for (Object item : collection) {
-                    Array.set(array, i++, item);
+            return null;
+        }
+
+        static void add(ConcurrentMap<String, MethodEntry[]> methods, String name, MethodEntry entry) {
+            while (true) {
+                MethodEntry[] entries = methods.get(name);
+                if (entries == null) {
+                    if (methods.putIfAbsent(name, new MethodEntry[]{entry}) == null) {
+                        return;
+                    }
+                    continue;
                 }
-                return array;
-            } else if (!type.isInterface()) {
-                try {
-                    Collection result = (Collection) type.newInstance();
-                    result.addAll(collection);
-                    return result;
-                } catch (Throwable e) {
-                    e.printStackTrace();
+                if (find(entries, entry.parameterTypes, entry.boxed) != null) {
+                    return;
                 }
-            } else if (type == List.class) {
-                return new ArrayList<>(collection);
-            } else if (type == Set.class) {
-                return new HashSet<>(collection);
-            }
-        } else if (value.getClass().isArray() &&
-                Collection.class.isAssignableFrom(type)) {
-            Collection collection;
-            if (!type.isInterface()) {
-                try {
-                    collection = (Collection) type.newInstance();
-                } catch (Throwable e) {
-                    collection = new ArrayList<>();
+                MethodEntry[] newEntries = Arrays.copyOf(entries, entries.length + 1);
+                newEntries[entries.length] = entry;
+                if (methods.replace(name, entries, newEntries)) {
+                    return;
                 }
-            } else if (type == Set.class) {
-                collection = new HashSet<>();
-            } else {
-                collection = new ArrayList<>();
             }
-            int length = Array.getLength(value);
-            for (int i = 0; i < length; i++) {
-                collection.add(Array.get(value, i));
-            }
-            return collection;
         }
-        return value;
+    }
+
+    /**
+     * cached "no such method" result.
+     */
+    private static final class NoSuchMethodResult {
+        private final String message;
+
+        NoSuchMethodResult(String message) {
+            this.message = message;
+        }
+    }
+
+    /**
+     * thrown for the cached "no such method" result, without filling the stack trace.
+     */
+    private static final class CachedNoSuchMethodException extends NoSuchMethodException {
+        private static final long serialVersionUID = 1L;
+
+        CachedNoSuchMethodException(String message) {
+            super(message);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * thrown for the missing property, without filling the stack trace.
+     */
+    private static final class CachedNoSuchFieldException extends NoSuchFieldException {
+        private static final long serialVersionUID = 1L;
+
+        CachedNoSuchFieldException(String message) {
+            super(message);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * resolved strategy to read a property, see {@link #searchProperty(Object, String)}.
+     */
+    abstract static class PropertyReader {
+        static final PropertyReader ARRAY_LENGTH = new PropertyReader() {
+            @Override
+            Object read(Object target) {
+                return Array.getLength(target);
+            }
+        };
+
+        abstract Object read(Object target) throws Exception;
     }
 }
@@ -0,0 +1,432 @@
+package com.hwangjr.utils.basic;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registry of the converters used by {@link ClassHelper#convertCompatibleType(Object, Class)}.
+ * <p/>
+ * Converters are registered by (source class, target class). When a pair is resolved the first time,
+ * the registry searches the source class, its super classes and interfaces, then falls back to the
+ * enum, array and collection rules. The resolved converter is memoized per pair with the version it is resolved
+ * under, so the next conversion only costs two map lookups, and the one resolved before a register is not reused.
+ */
+public class ConverterRegistry {
+    /**
+     * default date format.
+     */
+    public static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+    private static final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, IConverter>> REGISTERED
+            = new ConcurrentHashMap<>();
+    private static final ClassCache<ClassCache<Resolved>> RESOLVED = new ClassCache<>();
+
+    /**
+     * increased when the registered converters are changed, so that the holders of resolved converters can check it.
+     */
+    private static final AtomicInteger VERSION = new AtomicInteger();
+
+    private static final ThreadLocal<SimpleDateFormat> DATE_FORMATTER = new ThreadLocal<SimpleDateFormat>() {
+        @Override
+        protected SimpleDateFormat initialValue() {
+            return new SimpleDateFormat(DATE_FORMAT);
+        }
+    };
+
+    /**
+     * return the value itself.
+     */
+    public static final IConverter IDENTITY = new IConverter() {
+        @Override
+        public Object convert(Object value, Class<?> type) {
+            return value;
+        }
+    };
+
+    static {
+        registerStringConverters();
+        registerNumberConverters();
+    }
+
+    private ConverterRegistry() {
+        throw new AssertionError();
+    }
+
+    /**
+     * register the converter from source type to target type, it will replace the exists one.
+     * if the target type is a wrapper type, the converter is registered for its primitive type too.
+     */
+    public static void register(Class<?> sourceType, Class<?> targetType, IConverter converter) {
+        if (sourceType == null || targetType == null || converter == null) {
+            throw new IllegalArgumentException("sourceType, targetType and converter MUST NOT be null!");
+        }
+        put(sourceType, targetType, converter);
+        Class<?> unboxed = ClassHelper.getUnboxedClass(targetType);
+        if (unboxed != targetType) {
+            put(sourceType, unboxed, converter);
+        }
+        VERSION.incrementAndGet();
+        RESOLVED.clear();
+    }
+
+    /**
+     * the version of registered converters, it changes when {@link #register(Class, Class, IConverter)} is called.
+     */
+    public static int version() {
+        return VERSION.get();
+    }
+
+    /**
+     * find the converter from source type to target type, never return null.
+     * if there is no converter can be used, {@link #IDENTITY} is returned.
+     */
+    public static IConverter find(Class<?> sourceType, Class<?> targetType) {
+        // read the version before resolving, so a register during the resolving makes the result stale
+        int version = VERSION.get();
+        ClassCache<Resolved> converters = RESOLVED.get(sourceType);
+        if (converters == null) {
+            converters = RESOLVED.putIfAbsent(sourceType, new ClassCache<Resolved>());
+        }
+        Resolved resolved = converters.get(targetType);
+        if (resolved != null && resolved.version == version) {
+            return resolved.converter;
+        }
+        if (resolved != null) {
+            converters.remove(targetType);
+        }
+        IConverter converter = resolve(sourceType, targetType);
+        resolved = converters.putIfAbsent(targetType, new Resolved(converter, version));
+        return resolved.version == version ? resolved.converter : converter;
+    }
+
+    private static IConverter resolve(Class<?> sourceType, Class<?> targetType) {
+        if (targetType.isAssignableFrom(sourceType)) {
+            return IDENTITY;
+        }
+        IConverter converter = findRegistered(sourceType, targetType);
+        if (converter != null) {
+            return converter;
+        }
+        if (String.class == sourceType && targetType.isEnum()) {
+            return STRING_TO_ENUM;
+        } else if (Collection.class.isAssignableFrom(sourceType)) {
+            if (targetType.isArray()) {
+                return COLLECTION_TO_ARRAY;
+            } else if (!targetType.isInterface()) {
+                return COLLECTION_TO_COLLECTION;
+            } else if (targetType == List.class) {
+                return COLLECTION_TO_LIST;
+            } else if (targetType == Set.class) {
+                return COLLECTION_TO_SET;
+            }
+        } else if (sourceType.isArray() && Collection.class.isAssignableFrom(targetType)) {
+            return ARRAY_TO_COLLECTION;
+        }
+        return IDENTITY;
+    }
+
+    /**
+     * search the registered converters by source type, its super classes, then its interfaces.
+     */
+    private static IConverter findRegistered(Class<?> sourceType, Class<?> targetType) {
+        for (Class<?> type = sourceType; type != null; type = type.getSuperclass()) {
+            IConverter converter = getRegistered(type, targetType);
+            if (converter != null) {
+                return converter;
+            }
+        }
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> type = sourceType; type != null; type = type.getSuperclass()) {
+            collectInterfaces(type, interfaces);
+        }
+        for (Class<?> type : interfaces) {
+            IConverter converter = getRegistered(type, targetType);
+            if (converter != null) {
+                return converter;
+            }
+        }
+        return null;
+    }
+
+    private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+        for (Class<?> item : type.getInterfaces()) {
+            if (interfaces.add(item)) {
+                collectInterfaces(item, interfaces);
+            }
+        }
+    }
+
+    private static IConverter getRegistered(Class<?> sourceType, Class<?> targetType) {
+        ConcurrentMap<Class<?>, IConverter> converters = REGISTERED.get(sourceType);
+        return converters == null ? null : converters.get(targetType);
+    }
+
+    private static void put(Class<?> sourceType, Class<?> targetType, IConverter converter) {
+        ConcurrentMap<Class<?>, IConverter> converters = REGISTERED.get(sourceType);
+        if (converters == null) {
+            converters = new ConcurrentHashMap<>();
+            ConcurrentMap<Class<?>, IConverter> old = REGISTERED.putIfAbsent(sourceType, converters);
+            if (old != null) {
+                converters = old;
+            }
+        }
+        converters.put(targetType, converter);
+    }
+
+    private static void putBoth(Class<?> sourceType, Class<?> boxedType, IConverter converter) {
+        put(sourceType, boxedType, converter);
+        put(sourceType, ClassHelper.getUnboxedClass(boxedType), converter);
+    }
+
+    private static void registerStringConverters() {
+        putBoth(String.class, Character.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                String string = (String) value;
+                if (string.length() != 1) {
+                    throw new IllegalArgumentException(String.format(
+                            "CAN NOT convert String(%s) to char!" +
+                                    " when convert String to char, the String MUST only 1 char.",
+                            string));
+                }
+                return string.charAt(0);
+            }
+        });
+        put(String.class, BigInteger.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return new BigInteger((String) value);
+            }
+        });
+        put(String.class, BigDecimal.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return new BigDecimal((String) value);
+            }
+        });
+        putBoth(String.class, Short.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return Short.valueOf((String) value);
+            }
+        });
+        putBoth(String.class, Integer.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return Integer.valueOf((String) value);
+            }
+        });
+        putBoth(String.class, Long.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return Long.valueOf((String) value);
+            }
+        });
+        putBoth(String.class, Double.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return Double.valueOf((String) value);
+            }
+        });
+        putBoth(String.class, Float.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return Float.valueOf((String) value);
+            }
+        });
+        putBoth(String.class, Byte.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return Byte.valueOf((String) value);
+            }
+        });
+        putBoth(String.class, Boolean.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return Boolean.valueOf((String) value);
+            }
+        });
+        put(String.class, Date.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                try {
+                    return DATE_FORMATTER.get().parse((String) value);
+                } catch (ParseException e) {
+                    throw new IllegalStateException(
+                            "Failed to parse date " + value + " by format " +
+                                    DATE_FORMAT + ", cause: " + e.getMessage(),
+                            e);
+                }
+            }
+        });
+        put(String.class, Class.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return ClassHelper.forName((String) value);
+            }
+        });
+    }
+
+    private static void registerNumberConverters() {
+        putBoth(Number.class, Byte.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return ((Number) value).byteValue();
+            }
+        });
+        putBoth(Number.class, Short.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return ((Number) value).shortValue();
+            }
+        });
+        putBoth(Number.class, Integer.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return ((Number) value).intValue();
+            }
+        });
+        putBoth(Number.class, Long.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return ((Number) value).longValue();
+            }
+        });
+        putBoth(Number.class, Float.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return ((Number) value).floatValue();
+            }
+        });
+        putBoth(Number.class, Double.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return ((Number) value).doubleValue();
+            }
+        });
+        put(Number.class, BigInteger.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return BigInteger.valueOf(((Number) value).longValue());
+            }
+        });
+        put(Number.class, BigDecimal.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return BigDecimal.valueOf(((Number) value).doubleValue());
+            }
+        });
+        put(Number.class, Date.class, new IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return new Date(((Number) value).longValue());
+            }
+        });
+    }
+
+    private static final IConverter STRING_TO_ENUM = new IConverter() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object convert(Object value, Class<?> type) {
+            return Enum.valueOf((Class<Enum>) type, (String) value);
+        }
+    };
+
+    private static final IConverter COLLECTION_TO_ARRAY = new IConverter() {
+        @Override
+        public Object convert(Object value, Class<?> type) {
+            Collection<?> collection = (Collection<?>) value;
+            Object array = Array.newInstance(type.getComponentType(), collection.size());
+            int i = 0;
+            for (Object item : collection) {
+                Array.set(array, i++, item);
+            }
+            return array;
+        }
+    };
+
+    private static final IConverter COLLECTION_TO_COLLECTION = new IConverter() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object convert(Object value, Class<?> type) {
+            try {
+                Collection<Object> result = (Collection<Object>) ClassHelper.newInstance(type);
+                result.addAll((Collection<?>) value);
+                return result;
+            } catch (RuntimeException e) {
+                // the type can not be instantiated or filled, keep the value as it is
+                return value;
+            }
+        }
+    };
+
+    private static final IConverter COLLECTION_TO_LIST = new IConverter() {
+        @Override
+        public Object convert(Object value, Class<?> type) {
+            return new ArrayList<>((Collection<?>) value);
+        }
+    };
+
+    private static final IConverter COLLECTION_TO_SET = new IConverter() {
+        @Override
+        public Object convert(Object value, Class<?> type) {
+            return new HashSet<>((Collection<?>) value);
+        }
+    };
+
+    private static final IConverter ARRAY_TO_COLLECTION = new IConverter() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object convert(Object value, Class<?> type) {
+            Collection<Object> collection;
+            try {
+                collection = (Collection<Object>) ClassHelper.newInstance(type);
+            } catch (RuntimeException e) {
+                collection = new ArrayList<>();
+            }
+            int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                collection.add(Array.get(value, i));
+            }
+            return collection;
+        }
+    };
+
+    /**
+     * resolved converter with the version of registered converters it is resolved under.
+     */
+    private static final class Resolved {
+        final IConverter converter;
+        final int version;
+
+        Resolved(IConverter converter, int version) {
+            this.converter = converter;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Converter from a value to given type.
+     */
+    public interface IConverter {
+        /**
+         * @param value not null value for convert
+         * @param type  will converted type
+         * @return value while converted
+         */
+        Object convert(Object value, Class<?> type);
+    }
+}
@@ -0,0 +1,239 @@
+package com.hwangjr.utils.basic;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Create instance of a class, it is resolved once and cached by {@link ClassHelper}.
+ * <ul>
+ * <li>the common collection classes and interfaces are created by new directly.</li>
+ * <li>other classes are created by the public no-arg constructor, the access is checked like
+ * {@link Class#newInstance()}, so the private constructor of singleton or utility class is never called.
+ * the class and its enclosing classes must be public too.</li>
+ * <li>the class which can not be instantiated fails fast with the cached reason, without filling the stack trace.
+ * the access failure which is only known when the constructor is called is cached too.</li>
+ * </ul>
+ */
+abstract class Instantiator {
+    /**
+     * create a new instance.
+     *
+     * @throws IllegalStateException if failed
+     */
+    abstract Object newInstance();
+
+    /**
+     * resolve the instantiator of the given class.
+     */
+    static Instantiator build(Class<?> type) {
+        Instantiator instantiator = collectionInstantiator(type);
+        if (instantiator != null) {
+            return instantiator;
+        }
+        if (type.isInterface() || type.isArray() || type.isPrimitive() ||
+                Modifier.isAbstract(type.getModifiers())) {
+            return new Failure(new InstantiationException(type.getName()));
+        }
+        if (!isPublic(type)) {
+            return new Failure(new IllegalAccessException(type.getName() + " or its enclosing class is not public"));
+        }
+        try {
+            return new ConstructorInstantiator(type.getConstructor());
+        } catch (Exception e) {
+            return new Failure(e);
+        }
+    }
+
+    /**
+     * whether the class and its enclosing classes are public, so its public constructor can be called from here.
+     */
+    private static boolean isPublic(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getEnclosingClass()) {
+            if (!Modifier.isPublic(current.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String reasonOf(Exception e) {
+        return e.getClass().getName() + ": " + e.getMessage();
+    }
+
+    private static Instantiator collectionInstantiator(Class<?> type) {
+        if (type == ArrayList.class || type == List.class || type == Collection.class || type == Iterable.class) {
+            return ARRAY_LIST;
+        } else if (type == HashMap.class || type == Map.class) {
+            return HASH_MAP;
+        } else if (type == HashSet.class || type == Set.class) {
+            return HASH_SET;
+        } else if (type == LinkedList.class || type == Queue.class) {
+            return LINKED_LIST;
+        } else if (type == LinkedHashMap.class) {
+            return LINKED_HASH_MAP;
+        } else if (type == LinkedHashSet.class) {
+            return LINKED_HASH_SET;
+        } else if (type == TreeMap.class || type == SortedMap.class || type == NavigableMap.class) {
+            return TREE_MAP;
+        } else if (type == TreeSet.class || type == SortedSet.class || type == NavigableSet.class) {
+            return TREE_SET;
+        } else if (type == ConcurrentHashMap.class || type == ConcurrentMap.class) {
+            return CONCURRENT_HASH_MAP;
+        }
+        return null;
+    }
+
+    private static final Instantiator ARRAY_LIST = new Instantiator() {
+        @Override
+        Object newInstance() {
+            return new ArrayList<>();
+        }
+    };
+
+    private static final Instantiator HASH_MAP = new Instantiator() {
+        @Override
+        Object newInstance() {
+            return new HashMap<>();
+        }
+    };
+
+    private static final Instantiator HASH_SET = new Instantiator() {
+        @Override
+        Object newInstance() {
+            return new HashSet<>();
+        }
+    };
+
+    private static final Instantiator LINKED_LIST = new Instantiator() {
+        @Override
+        Object newInstance() {
+            return new LinkedList<>();
+        }
+    };
+
+    private static final Instantiator LINKED_HASH_MAP = new Instantiator() {
+        @Override
+        Object newInstance() {
+            return new LinkedHashMap<>();
+        }
+    };
+
+    private static final Instantiator LINKED_HASH_SET = new Instantiator() {
+        @Override
+        Object newInstance() {
+            return new LinkedHashSet<>();
+        }
+    };
+
+    private static final Instantiator TREE_MAP = new Instantiator() {
+        @Override
+        Object newInstance() {
+            return new TreeMap<>();
+        }
+    };
+
+    private static final Instantiator TREE_SET = new Instantiator() {
+        @Override
+        Object newInstance() {
+            return new TreeSet<>();
+        }
+    };
+
+    private static final Instantiator CONCURRENT_HASH_MAP = new Instantiator() {
+        @Override
+        Object newInstance() {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * create instance by the no-arg constructor.
+     */
+    private static final class ConstructorInstantiator extends Instantiator {
+        private final Constructor<?> constructor;
+
+        /**
+         * the reason of the access or instantiation failure, the constructor is not called again once it is set.
+         */
+        private volatile String failure;
+
+        ConstructorInstantiator(Constructor<?> constructor) {
+            this.constructor = constructor;
+        }
+
+        @Override
+        Object newInstance() {
+            String failure = this.failure;
+            if (failure != null) {
+                throw new CachedInstantiationException(failure);
+            }
+            try {
+                return constructor.newInstance();
+            } catch (InvocationTargetException e) {
+                // thrown by the constructor itself, the next call may succeed
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                throw new IllegalStateException(cause.getMessage(), cause);
+            } catch (IllegalAccessException e) {
+                this.failure = reasonOf(e);
+                throw new IllegalStateException(e.getMessage(), e);
+            } catch (InstantiationException e) {
+                this.failure = reasonOf(e);
+                throw new IllegalStateException(e.getMessage(), e);
+            } catch (Exception e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * the class can not be instantiated, fail fast with the cached reason.
+     */
+    private static final class Failure extends Instantiator {
+        private final String reason;
+
+        Failure(Exception reason) {
+            this.reason = reasonOf(reason);
+        }
+
+        @Override
+        Object newInstance() {
+            throw new CachedInstantiationException(reason);
+        }
+    }
+
+    /**
+     * thrown for the cached failure, without filling the stack trace.
+     */
+    private static final class CachedInstantiationException extends IllegalStateException {
+        private static final long serialVersionUID = 1L;
+
+        CachedInstantiationException(String message) {
+            super(message);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.hwangjr.utils.basic;
+
+/**
+ * Parse number from a range of {@link CharSequence} or char array, without creating String or throwing exception
+ * for the plain decimal input.
+ * <p/>
+ * Only one of the char sequence and the char array is given. The input which is not a plain decimal number, or needs
+ * more precision than the fast path, is handed to the JDK parser, so the result is always the same as
+ * {@link Long#parseLong(String)}, {@link Double#parseDouble(String)} and so on.
+ * If strict is false, the invalid input returns the default value instead of throwing {@link NumberFormatException}.
+ */
+final class NumberParser {
+    /**
+     * the powers of ten which can be represented exactly by double.
+     */
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+            1e21, 1e22
+    };
+
+    /**
+     * the powers of ten which can be represented exactly by float.
+     */
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    /**
+     * max significant digits of the double fast path, less than 2^53.
+     */
+    private static final int MAX_DOUBLE_DIGITS = 15;
+
+    /**
+     * max significant digits of the float fast path, less than 2^24.
+     */
+    private static final int MAX_FLOAT_DIGITS = 7;
+
+    private static final int MAX_EXPONENT_DIGITS = 4;
+
+    private NumberParser() {
+        throw new AssertionError();
+    }
+
+    /**
+     * parse long, or int if isInt is true.
+     */
+    static long parseLong(CharSequence sequence, char[] chars, int start, int end, boolean isInt,
+                          long defaultValue, boolean strict) {
+        checkRange(sequence, chars, start, end);
+        int i = start;
+        boolean negative = false;
+        if (i < end) {
+            char c = charAt(sequence, chars, i);
+            if (c == '-') {
+                negative = true;
+                i++;
+            } else if (c == '+') {
+                i++;
+            }
+        }
+        if (i == end) {
+            return parseLongSlow(sequence, chars, start, end, isInt, defaultValue, strict);
+        }
+        long limit;
+        if (isInt) {
+            limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        } else {
+            limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        }
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = charAt(sequence, chars, i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                return parseLongSlow(sequence, chars, start, end, isInt, defaultValue, strict);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return parseLongSlow(sequence, chars, start, end, isInt, defaultValue, strict);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * parse double, or float if isFloat is true, the float result is exactly widened to double.
+     */
+    static double parseDouble(CharSequence sequence, char[] chars, int start, int end, boolean isFloat,
+                              double defaultValue, boolean strict) {
+        checkRange(sequence, chars, start, end);
+        int maxDigits = isFloat ? MAX_FLOAT_DIGITS : MAX_DOUBLE_DIGITS;
+        int i = start;
+        boolean negative = false;
+        if (i < end) {
+            char c = charAt(sequence, chars, i);
+            if (c == '-') {
+                negative = true;
+                i++;
+            } else if (c == '+') {
+                i++;
+            }
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+        boolean precise = true;
+        boolean point = false;
+        for (; i < end; i++) {
+            char c = charAt(sequence, chars, i);
+            if (c >= '0' && c <= '9') {
+                anyDigit = true;
+                if (mantissa != 0 || c != '0') {
+                    if (++digits > maxDigits) {
+                        precise = false;
+                    }
+                    mantissa = mantissa * 10 + (c - '0');
+                }
+                if (point) {
+                    exponent--;
+                }
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (!anyDigit) {
+            return parseDoubleSlow(sequence, chars, start, end, isFloat, defaultValue, strict);
+        }
+        if (i < end) {
+            char c = charAt(sequence, chars, i);
+            if (c != 'e' && c != 'E' || ++i == end) {
+                return parseDoubleSlow(sequence, chars, start, end, isFloat, defaultValue, strict);
+            }
+            boolean negativeExponent = false;
+            c = charAt(sequence, chars, i);
+            if (c == '-' || c == '+') {
+                negativeExponent = c == '-';
+                if (++i == end) {
+                    return parseDoubleSlow(sequence, chars, start, end, isFloat, defaultValue, strict);
+                }
+            }
+            int exponentStart = i;
+            int value = 0;
+            for (; i < end; i++) {
+                int digit = charAt(sequence, chars, i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return parseDoubleSlow(sequence, chars, start, end, isFloat, defaultValue, strict);
+                }
+                if (i - exponentStart >= MAX_EXPONENT_DIGITS) {
+                    precise = false;
+                } else {
+                    value = value * 10 + digit;
+                }
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        if (mantissa == 0 && precise) {
+            return negative ? -0d : 0d;
+        }
+        int maxExponent = isFloat ? FLOAT_POWERS_OF_TEN.length - 1 : DOUBLE_POWERS_OF_TEN.length - 1;
+        if (!precise || exponent > maxExponent || exponent < -maxExponent) {
+            return parseDoubleSlow(sequence, chars, start, end, isFloat, defaultValue, strict);
+        }
+        double result;
+        if (isFloat) {
+            float value = (float) mantissa;
+            value = exponent >= 0 ? value * FLOAT_POWERS_OF_TEN[exponent] : value / FLOAT_POWERS_OF_TEN[-exponent];
+            result = value;
+        } else {
+            double value = (double) mantissa;
+            result = exponent >= 0 ? value * DOUBLE_POWERS_OF_TEN[exponent] : value / DOUBLE_POWERS_OF_TEN[-exponent];
+        }
+        return negative ? -result : result;
+    }
+
+    private static long parseLongSlow(CharSequence sequence, char[] chars, int start, int end, boolean isInt,
+                                      long defaultValue, boolean strict) {
+        if (!strict && isAscii(sequence, chars, start, end)) {
+            return defaultValue;
+        }
+        String string = toString(sequence, chars, start, end);
+        if (strict) {
+            return isInt ? Integer.parseInt(string) : Long.parseLong(string);
+        }
+        try {
+            return isInt ? Integer.parseInt(string) : Long.parseLong(string);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static double parseDoubleSlow(CharSequence sequence, char[] chars, int start, int end, boolean isFloat,
+                                          double defaultValue, boolean strict) {
+        if (!strict && !mayBeJdkDouble(sequence, chars, start, end)) {
+            return defaultValue;
+        }
+        String string = toString(sequence, chars, start, end);
+        if (strict) {
+            return isFloat ? Float.parseFloat(string) : Double.parseDouble(string);
+        }
+        try {
+            return isFloat ? Float.parseFloat(string) : Double.parseDouble(string);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * whether the input may be accepted by the JDK double parser: it is a decimal number, or has the chars of
+     * white space, NaN, Infinity, hex, type suffix or non-ascii.
+     */
+    private static boolean mayBeJdkDouble(CharSequence sequence, char[] chars, int start, int end) {
+        int digits = 0;
+        for (int i = start; i < end; i++) {
+            char c = charAt(sequence, chars, i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if (c <= ' ' || c > '~' || "NaIityxXpPdDfF".indexOf(c) >= 0) {
+                return true;
+            } else if ("+-.eE".indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return digits > 0;
+    }
+
+    private static boolean isAscii(CharSequence sequence, char[] chars, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (charAt(sequence, chars, i) > '~') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char charAt(CharSequence sequence, char[] chars, int index) {
+        return chars != null ? chars[index] : sequence.charAt(index);
+    }
+
+    private static String toString(CharSequence sequence, char[] chars, int start, int end) {
+        return chars != null ? new String(chars, start, end - start) : sequence.subSequence(start, end).toString();
+    }
+
+    private static void checkRange(CharSequence sequence, char[] chars, int start, int end) {
+        int length = chars != null ? chars.length : sequence.length();
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("length=" + length + ", start=" + start + ", end=" + end);
+        }
+    }
+}
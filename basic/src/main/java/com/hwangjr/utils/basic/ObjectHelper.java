@@ -1,7 +1,10 @@
 package com.hwangjr.utils.basic;
 
+import java.util.AbstractList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 
 /**
  * Compare object or convert some types
@@ -48,11 +51,7 @@ public class ObjectHelper {
      * @return
      */
     public static Long[] transformLongArray(long[] source) {
-        Long[] dest = new Long[source.length];
-        for (int i = 0; i < source.length; i++) {
-            dest[i] = source[i];
-        }
-        return dest;
+        return box(source, 0, new Long[source.length], 0, source.length);
     }
 
     /**
@@ -76,11 +75,7 @@ public class ObjectHelper {
      * @return
      */
     public static Integer[] transformIntArray(int[] source) {
-        Integer[] dest = new Integer[source.length];
-        for (int i = 0; i < source.length; i++) {
-            dest[i] = source[i];
-        }
-        return dest;
+        return box(source, 0, new Integer[source.length], 0, source.length);
     }
 
     /**
@@ -97,6 +92,406 @@ public class ObjectHelper {
         return dest;
     }
 
+    /**
+     * get a fixed-size list view of the boolean array, changes to the list write through to the array.
+     * no element is boxed until it is read from the list.
+     *
+     * @param array
+     * @return
+     */
+    public static List<Boolean> asList(boolean[] array) {
+        return new BooleanArrayList(array);
+    }
+
+    /**
+     * get a fixed-size list view of the char array, changes to the list write through to the array.
+     * no element is boxed until it is read from the list.
+     *
+     * @param array
+     * @return
+     */
+    public static List<Character> asList(char[] array) {
+        return new CharArrayList(array);
+    }
+
+    /**
+     * get a fixed-size list view of the byte array, changes to the list write through to the array.
+     * no element is boxed until it is read from the list.
+     *
+     * @param array
+     * @return
+     */
+    public static List<Byte> asList(byte[] array) {
+        return new ByteArrayList(array);
+    }
+
+    /**
+     * get a fixed-size list view of the short array, changes to the list write through to the array.
+     * no element is boxed until it is read from the list.
+     *
+     * @param array
+     * @return
+     */
+    public static List<Short> asList(short[] array) {
+        return new ShortArrayList(array);
+    }
+
+    /**
+     * get a fixed-size list view of the int array, changes to the list write through to the array.
+     * no element is boxed until it is read from the list.
+     *
+     * @param array
+     * @return
+     */
+    public static List<Integer> asList(int[] array) {
+        return new IntArrayList(array);
+    }
+
+    /**
+     * get a fixed-size list view of the long array, changes to the list write through to the array.
+     * no element is boxed until it is read from the list.
+     *
+     * @param array
+     * @return
+     */
+    public static List<Long> asList(long[] array) {
+        return new LongArrayList(array);
+    }
+
+    /**
+     * get a fixed-size list view of the float array, changes to the list write through to the array.
+     * no element is boxed until it is read from the list.
+     *
+     * @param array
+     * @return
+     */
+    public static List<Float> asList(float[] array) {
+        return new FloatArrayList(array);
+    }
+
+    /**
+     * get a fixed-size list view of the double array, changes to the list write through to the array.
+     * no element is boxed until it is read from the list.
+     *
+     * @param array
+     * @return
+     */
+    public static List<Double> asList(double[] array) {
+        return new DoubleArrayList(array);
+    }
+
+    /**
+     * box boolean array to Boolean array, into the given destination
+     *
+     * @param source
+     * @param sourcePos start position of source
+     * @param dest
+     * @param destPos   start position of dest
+     * @param length    count of elements to box
+     * @return dest
+     */
+    public static Boolean[] box(boolean[] source, int sourcePos, Boolean[] dest, int destPos, int length) {
+        checkRange(source.length, sourcePos, dest.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            dest[destPos + i] = source[sourcePos + i];
+        }
+        return dest;
+    }
+
+    /**
+     * unbox Boolean array to boolean array, into the given destination
+     *
+     * @param source
+     * @param sourcePos start position of source
+     * @param dest
+     * @param destPos   start position of dest
+     * @param length    count of elements to unbox
+     * @param nullValue value for the null element
+     * @return dest
+     */
+    public static boolean[] unbox(Boolean[] source, int sourcePos, boolean[] dest, int destPos, int length, boolean nullValue) {
+        checkRange(source.length, sourcePos, dest.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            Boolean value = source[sourcePos + i];
+            dest[destPos + i] = value == null ? nullValue : value;
+        }
+        return dest;
+    }
+
+    /**
+     * box char array to Character array, into the given destination
+     *
+     * @param source
+     * @param sourcePos start position of source
+     * @param dest
+     * @param destPos   start position of dest
+     * @param length    count of elements to box
+     * @return dest
+     */
+    public static Character[] box(char[] source, int sourcePos, Character[] dest, int destPos, int length) {
+        checkRange(source.length, sourcePos, dest.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            dest[destPos + i] = source[sourcePos + i];
+        }
+        return dest;
+    }
+
+    /**
+     * unbox Character array to char array, into the given destination
+     *
+     * @param source
+     * @param sourcePos start position of source
+     * @param dest
+     * @param destPos   start position of dest
+     * @param length    count of elements to unbox
+     * @param nullValue value for the null element
+     * @return dest
+     */
+    public static char[] unbox(Character[] source, int sourcePos, char[] dest, int destPos, int length, char nullValue) {
+        checkRange(source.length, sourcePos, dest.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            Character value = source[sourcePos + i];
+            dest[destPos + i] = value == null ? nullValue : value;
+        }
+        return dest;
+    }
+
+    /**
+     * box byte array to Byte array, into the given destination
+     *
+     * @param source
+     * @param sourcePos start position of source
+     * @param dest
+     * @param destPos   start position of dest
+     * @param length    count of elements to box
+     * @return dest
+     */
+    public static Byte[] box(byte[] source, int sourcePos, Byte[] dest, int destPos, int length) {
+        checkRange(source.length, sourcePos, dest.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            dest[destPos + i] = source[sourcePos + i];
+        }
+        return dest;
+    }
+
+    /**
+     * unbox Byte array to byte array, into the given destination
+     *
+     * @param source
+     * @param sourcePos start position of source
+     * @param dest
+     * @param destPos   start position of dest
+     * @param length    count of elements to unbox
+     * @param nullValue value for the null element
+     * @return dest
+     */
+    public static byte[] unbox(Byte[] source, int sourcePos, byte[] dest, int destPos, int length, byte nullValue) {
+        checkRange(source.length, sourcePos, dest.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            Byte value = source[sourcePos + i];
+            dest[destPos + i] = value == null ? nullValue : value;
+        }
+        return dest;
+    }
+
+    /**
+     * box short array to Short array, into the given destination
+     *
+     * @param source
+     * @param sourcePos start position of source
+     * @param dest
+     * @param destPos   start position of dest
+     * @param length    count of elements to box
+     * @return dest
+     */
+    public static Short[] box(short[] source, int sourcePos, Short[] dest, int destPos, int length) {
+        checkRange(source.length, sourcePos, dest.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            dest[destPos + i] = source[sourcePos + i];
+        }
+        return dest;
+    }
+
+    /**
+     * unbox Short array to short array, into the given destination
+     *
+     * @param source
+     * @param sourcePos start position of source
+     * @param dest
+     * @param destPos   start position of dest
+     * @param length    count of elements to unbox
+     * @param nullValue value for the null element
+     * @return dest
+     */
+    public static short[] unbox(Short[] source, int sourcePos, short[] dest, int destPos, int length, short nullValue) {
+        checkRange(source.length, sourcePos, dest.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            Short value = source[sourcePos + i];
+            dest[destPos + i] = value == null ? nullValue : value;
+        }
+        return dest;
+    }
+
+    /**
+     * box int array to Integer array, into the given destination
+     *
+     * @param source
+     * @param sourcePos start position of source
+     * @param dest
+     * @param destPos   start position of dest
+     * @param length    count of elements to box
+     * @return dest
+     */
+    public static Integer[] box(int[] source, int sourcePos, Integer[] dest, int destPos, int length) {
+        checkRange(source.length, sourcePos, dest.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            dest[destPos + i] = source[sourcePos + i];
+        }
+        return dest;
+    }
+
+    /**
+     * unbox Integer array to int array, into the given destination
+     *
+     * @param source
+     * @param sourcePos start position of source
+     * @param dest
+     * @param destPos   start position of dest
+     * @param length    count of elements to unbox
+     * @param nullValue value for the null element
+     * @return dest
+     */
+    public static int[] unbox(Integer[] source, int sourcePos, int[] dest, int destPos, int length, int nullValue) {
+        checkRange(source.length, sourcePos, dest.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            Integer value = source[sourcePos + i];
+            dest[destPos + i] = value == null ? nullValue : value;
+        }
+        return dest;
+    }
+
+    /**
+     * box long array to Long array, into the given destination
+     *
+     * @param source
+     * @param sourcePos start position of source
+     * @param dest
+     * @param destPos   start position of dest
+     * @param length    count of elements to box
+     * @return dest
+     */
+    public static Long[] box(long[] source, int sourcePos, Long[] dest, int destPos, int length) {
+        checkRange(source.length, sourcePos, dest.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            dest[destPos + i] = source[sourcePos + i];
+        }
+        return dest;
+    }
+
+    /**
+     * unbox Long array to long array, into the given destination
+     *
+     * @param source
+     * @param sourcePos start position of source
+     * @param dest
+     * @param destPos   start position of dest
+     * @param length    count of elements to unbox
+     * @param nullValue value for the null element
+     * @return dest
+     */
+    public static long[] unbox(Long[] source, int sourcePos, long[] dest, int destPos, int length, long nullValue) {
+        checkRange(source.length, sourcePos, dest.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            Long value = source[sourcePos + i];
+            dest[destPos + i] = value == null ? nullValue : value;
+        }
+        return dest;
+    }
+
+    /**
+     * box float array to Float array, into the given destination
+     *
+     * @param source
+     * @param sourcePos start position of source
+     * @param dest
+     * @param destPos   start position of dest
+     * @param length    count of elements to box
+     * @return dest
+     */
+    public static Float[] box(float[] source, int sourcePos, Float[] dest, int destPos, int length) {
+        checkRange(source.length, sourcePos, dest.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            dest[destPos + i] = source[sourcePos + i];
+        }
+        return dest;
+    }
+
+    /**
+     * unbox Float array to float array, into the given destination
+     *
+     * @param source
+     * @param sourcePos start position of source
+     * @param dest
+     * @param destPos   start position of dest
+     * @param length    count of elements to unbox
+     * @param nullValue value for the null element
+     * @return dest
+     */
+    public static float[] unbox(Float[] source, int sourcePos, float[] dest, int destPos, int length, float nullValue) {
+        checkRange(source.length, sourcePos, dest.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            Float value = source[sourcePos + i];
+            dest[destPos + i] = value == null ? nullValue : value;
+        }
+        return dest;
+    }
+
+    /**
+     * box double array to Double array, into the given destination
+     *
+     * @param source
+     * @param sourcePos start position of source
+     * @param dest
+     * @param destPos   start position of dest
+     * @param length    count of elements to box
+     * @return dest
+     */
+    public static Double[] box(double[] source, int sourcePos, Double[] dest, int destPos, int length) {
+        checkRange(source.length, sourcePos, dest.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            dest[destPos + i] = source[sourcePos + i];
+        }
+        return dest;
+    }
+
+    /**
+     * unbox Double array to double array, into the given destination
+     *
+     * @param source
+     * @param sourcePos start position of source
+     * @param dest
+     * @param destPos   start position of dest
+     * @param length    count of elements to unbox
+     * @param nullValue value for the null element
+     * @return dest
+     */
+    public static double[] unbox(Double[] source, int sourcePos, double[] dest, int destPos, int length, double nullValue) {
+        checkRange(source.length, sourcePos, dest.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            Double value = source[sourcePos + i];
+            dest[destPos + i] = value == null ? nullValue : value;
+        }
+        return dest;
+    }
+
+    private static void checkRange(int sourceLength, int sourcePos, int destLength, int destPos, int length) {
+        if (sourcePos < 0 || destPos < 0 || length < 0 ||
+                sourcePos > sourceLength - length || destPos > destLength - length) {
+            throw new ArrayIndexOutOfBoundsException("source.length=" + sourceLength + ", sourcePos=" + sourcePos +
+                    ", dest.length=" + destLength + ", destPos=" + destPos + ", length=" + length);
+        }
+    }
+
     /**
      * compare two object
      * <ul>
@@ -116,6 +511,7 @@ public class ObjectHelper {
      * @param v1
      * @param v2
      * @return
+     * @see PropertyComparator
      */
     public static <V> int compare(V v1, V v2) {
         return v1 == null ? (v2 == null ? 0 : -1) : (v2 == null ? 1 : ((Comparable) v1).compareTo(v2));
@@ -191,4 +587,499 @@ public class ObjectHelper {
         return null == obj;
     }
 
+    /**
+     * list view of boolean array
+     */
+    private static final class BooleanArrayList extends AbstractList<Boolean> implements RandomAccess {
+        private final boolean[] array;
+
+        BooleanArrayList(boolean[] array) {
+            if (array == null) {
+                throw new NullPointerException("array == null");
+            }
+            this.array = array;
+        }
+
+        @Override
+        public Boolean get(int index) {
+            return array[index];
+        }
+
+        @Override
+        public Boolean set(int index, Boolean element) {
+            boolean old = array[index];
+            array[index] = element;
+            return old;
+        }
+
+        @Override
+        public int size() {
+            return array.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            if (o instanceof Boolean) {
+                boolean target = (Boolean) o;
+                for (int i = 0; i < array.length; i++) {
+                    if (array[i] == target) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            if (o instanceof Boolean) {
+                boolean target = (Boolean) o;
+                for (int i = array.length - 1; i >= 0; i--) {
+                    if (array[i] == target) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * list view of char array
+     */
+    private static final class CharArrayList extends AbstractList<Character> implements RandomAccess {
+        private final char[] array;
+
+        CharArrayList(char[] array) {
+            if (array == null) {
+                throw new NullPointerException("array == null");
+            }
+            this.array = array;
+        }
+
+        @Override
+        public Character get(int index) {
+            return array[index];
+        }
+
+        @Override
+        public Character set(int index, Character element) {
+            char old = array[index];
+            array[index] = element;
+            return old;
+        }
+
+        @Override
+        public int size() {
+            return array.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            if (o instanceof Character) {
+                char target = (Character) o;
+                for (int i = 0; i < array.length; i++) {
+                    if (array[i] == target) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            if (o instanceof Character) {
+                char target = (Character) o;
+                for (int i = array.length - 1; i >= 0; i--) {
+                    if (array[i] == target) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * list view of byte array
+     */
+    private static final class ByteArrayList extends AbstractList<Byte> implements RandomAccess {
+        private final byte[] array;
+
+        ByteArrayList(byte[] array) {
+            if (array == null) {
+                throw new NullPointerException("array == null");
+            }
+            this.array = array;
+        }
+
+        @Override
+        public Byte get(int index) {
+            return array[index];
+        }
+
+        @Override
+        public Byte set(int index, Byte element) {
+            byte old = array[index];
+            array[index] = element;
+            return old;
+        }
+
+        @Override
+        public int size() {
+            return array.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            if (o instanceof Byte) {
+                byte target = (Byte) o;
+                for (int i = 0; i < array.length; i++) {
+                    if (array[i] == target) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            if (o instanceof Byte) {
+                byte target = (Byte) o;
+                for (int i = array.length - 1; i >= 0; i--) {
+                    if (array[i] == target) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * list view of short array
+     */
+    private static final class ShortArrayList extends AbstractList<Short> implements RandomAccess {
+        private final short[] array;
+
+        ShortArrayList(short[] array) {
+            if (array == null) {
+                throw new NullPointerException("array == null");
+            }
+            this.array = array;
+        }
+
+        @Override
+        public Short get(int index) {
+            return array[index];
+        }
+
+        @Override
+        public Short set(int index, Short element) {
+            short old = array[index];
+            array[index] = element;
+            return old;
+        }
+
+        @Override
+        public int size() {
+            return array.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            if (o instanceof Short) {
+                short target = (Short) o;
+                for (int i = 0; i < array.length; i++) {
+                    if (array[i] == target) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            if (o instanceof Short) {
+                short target = (Short) o;
+                for (int i = array.length - 1; i >= 0; i--) {
+                    if (array[i] == target) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * list view of int array
+     */
+    private static final class IntArrayList extends AbstractList<Integer> implements RandomAccess {
+        private final int[] array;
+
+        IntArrayList(int[] array) {
+            if (array == null) {
+                throw new NullPointerException("array == null");
+            }
+            this.array = array;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return array[index];
+        }
+
+        @Override
+        public Integer set(int index, Integer element) {
+            int old = array[index];
+            array[index] = element;
+            return old;
+        }
+
+        @Override
+        public int size() {
+            return array.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            if (o instanceof Integer) {
+                int target = (Integer) o;
+                for (int i = 0; i < array.length; i++) {
+                    if (array[i] == target) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            if (o instanceof Integer) {
+                int target = (Integer) o;
+                for (int i = array.length - 1; i >= 0; i--) {
+                    if (array[i] == target) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * list view of long array
+     */
+    private static final class LongArrayList extends AbstractList<Long> implements RandomAccess {
+        private final long[] array;
+
+        LongArrayList(long[] array) {
+            if (array == null) {
+                throw new NullPointerException("array == null");
+            }
+            this.array = array;
+        }
+
+        @Override
+        public Long get(int index) {
+            return array[index];
+        }
+
+        @Override
+        public Long set(int index, Long element) {
+            long old = array[index];
+            array[index] = element;
+            return old;
+        }
+
+        @Override
+        public int size() {
+            return array.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            if (o instanceof Long) {
+                long target = (Long) o;
+                for (int i = 0; i < array.length; i++) {
+                    if (array[i] == target) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            if (o instanceof Long) {
+                long target = (Long) o;
+                for (int i = array.length - 1; i >= 0; i--) {
+                    if (array[i] == target) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * list view of float array
+     */
+    private static final class FloatArrayList extends AbstractList<Float> implements RandomAccess {
+        private final float[] array;
+
+        FloatArrayList(float[] array) {
+            if (array == null) {
+                throw new NullPointerException("array == null");
+            }
+            this.array = array;
+        }
+
+        @Override
+        public Float get(int index) {
+            return array[index];
+        }
+
+        @Override
+        public Float set(int index, Float element) {
+            float old = array[index];
+            array[index] = element;
+            return old;
+        }
+
+        @Override
+        public int size() {
+            return array.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            if (o instanceof Float) {
+                float target = (Float) o;
+                for (int i = 0; i < array.length; i++) {
+                    if (Float.compare(array[i], target) == 0) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            if (o instanceof Float) {
+                float target = (Float) o;
+                for (int i = array.length - 1; i >= 0; i--) {
+                    if (Float.compare(array[i], target) == 0) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * list view of double array
+     */
+    private static final class DoubleArrayList extends AbstractList<Double> implements RandomAccess {
+        private final double[] array;
+
+        DoubleArrayList(double[] array) {
+            if (array == null) {
+                throw new NullPointerException("array == null");
+            }
+            this.array = array;
+        }
+
+        @Override
+        public Double get(int index) {
+            return array[index];
+        }
+
+        @Override
+        public Double set(int index, Double element) {
+            double old = array[index];
+            array[index] = element;
+            return old;
+        }
+
+        @Override
+        public int size() {
+            return array.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            if (o instanceof Double) {
+                double target = (Double) o;
+                for (int i = 0; i < array.length; i++) {
+                    if (Double.compare(array[i], target) == 0) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            if (o instanceof Double) {
+                double target = (Double) o;
+                for (int i = array.length - 1; i >= 0; i--) {
+                    if (Double.compare(array[i], target) == 0) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
 }
@@ -0,0 +1,201 @@
+package com.hwangjr.utils.basic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Compare beans by the property paths, like: "owner.age desc, name".
+ * <ul>
+ * <li>the keys are separated by ',', each key is a property path separated by '.', followed by an optional "asc"
+ * or "desc".</li>
+ * <li>each property is read like {@link ClassHelper#searchProperty(Object, String)}: Map.get(), get'Name',
+ * is'Name', then the public field. the reader is resolved once for each runtime class.</li>
+ * <li>the values are compared by {@link ObjectHelper#compare(Object, Object)}, the null value is less than any
+ * other value, and the value is null if any property on its path is null.</li>
+ * </ul>
+ * For large list, {@link #sort(List)} reads the keys of each element only once before sorting.
+ *
+ * @param <T> type of the bean
+ */
+public final class PropertyComparator<T> implements Comparator<T> {
+    private final String expression;
+    private final Key[] keys;
+
+    private PropertyComparator(String expression, Key[] keys) {
+        this.expression = expression;
+        this.keys = keys;
+    }
+
+    /**
+     * compile the property paths to comparator.
+     *
+     * @param expression like: "owner.age desc, name"
+     * @throws IllegalArgumentException if the expression is empty or invalid
+     */
+    public static <T> PropertyComparator<T> compile(String expression) {
+        if (expression == null) {
+            throw new IllegalArgumentException("expression MUST NOT be null!");
+        }
+        List<Key> keys = new ArrayList<>();
+        for (String item : expression.split(",", -1)) {
+            String[] words = item.trim().split("\\s+");
+            if (words.length == 0 || words[0].length() == 0 || words.length > 2) {
+                throw new IllegalArgumentException("invalid property path: \"" + item + "\" in " + expression);
+            }
+            boolean descending = false;
+            if (words.length == 2) {
+                if ("desc".equalsIgnoreCase(words[1])) {
+                    descending = true;
+                } else if (!"asc".equalsIgnoreCase(words[1])) {
+                    throw new IllegalArgumentException("invalid order: \"" + words[1] + "\" in " + expression);
+                }
+            }
+            String[] names = words[0].split("\\.", -1);
+            Segment[] segments = new Segment[names.length];
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].length() == 0) {
+                    throw new IllegalArgumentException("invalid property path: \"" + words[0] + "\" in " + expression);
+                }
+                segments[i] = new Segment(names[i]);
+            }
+            keys.add(new Key(segments, descending));
+        }
+        return new PropertyComparator<>(expression, keys.toArray(new Key[keys.size()]));
+    }
+
+    /**
+     * @throws IllegalArgumentException if a property can not be read
+     */
+    @Override
+    public int compare(T lhs, T rhs) {
+        for (Key key : keys) {
+            int result = key.compare(key.read(lhs), key.read(rhs));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * sort the list, the keys of each element are read once before sorting, the sort is stable.
+     *
+     * @throws IllegalArgumentException if a property can not be read
+     */
+    @SuppressWarnings("unchecked")
+    public void sort(List<? extends T> list) {
+        if (list == null || list.size() < 2) {
+            return;
+        }
+        Decorated[] decorated = new Decorated[list.size()];
+        int index = 0;
+        for (T element : list) {
+            Object[] values = new Object[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                values[i] = keys[i].read(element);
+            }
+            decorated[index++] = new Decorated(element, values);
+        }
+        Arrays.sort(decorated, new Comparator<Decorated>() {
+            @Override
+            public int compare(Decorated lhs, Decorated rhs) {
+                for (int i = 0; i < keys.length; i++) {
+                    int result = keys[i].compare(lhs.values[i], rhs.values[i]);
+                    if (result != 0) {
+                        return result;
+                    }
+                }
+                return 0;
+            }
+        });
+        ListIterator<T> iterator = (ListIterator<T>) list.listIterator();
+        for (Decorated item : decorated) {
+            iterator.next();
+            iterator.set((T) item.element);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    /**
+     * compiled sort key.
+     */
+    private static final class Key {
+        private final Segment[] segments;
+        private final boolean descending;
+
+        Key(Segment[] segments, boolean descending) {
+            this.segments = segments;
+            this.descending = descending;
+        }
+
+        Object read(Object bean) {
+            Object value = bean;
+            for (Segment segment : segments) {
+                if (value == null) {
+                    return null;
+                }
+                value = segment.read(value);
+            }
+            return value;
+        }
+
+        int compare(Object v1, Object v2) {
+            int result = ObjectHelper.compare(v1, v2);
+            return descending ? -result : result;
+        }
+    }
+
+    /**
+     * a property on the path, it keeps the reader of the last seen class.
+     */
+    private static final class Segment {
+        private final String name;
+        private volatile Binding binding;
+
+        Segment(String name) {
+            this.name = name;
+        }
+
+        Object read(Object target) {
+            Class<?> type = target.getClass();
+            Binding binding = this.binding;
+            if (binding == null || binding.type != type) {
+                binding = new Binding(type, ClassHelper.getPropertyReader(type, name));
+                this.binding = binding;
+            }
+            try {
+                return binding.reader.read(target);
+            } catch (Exception e) {
+                throw new IllegalArgumentException("CAN NOT read property " + name + " of " + type.getName() +
+                        ", cause: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private static final class Binding {
+        private final Class<?> type;
+        private final ClassHelper.PropertyReader reader;
+
+        Binding(Class<?> type, ClassHelper.PropertyReader reader) {
+            this.type = type;
+            this.reader = reader;
+        }
+    }
+
+    private static final class Decorated {
+        private final Object element;
+        private final Object[] values;
+
+        Decorated(Object element, Object[] values) {
+            this.element = element;
+            this.values = values;
+        }
+    }
+}
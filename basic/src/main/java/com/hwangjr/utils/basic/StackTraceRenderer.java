@@ -0,0 +1,196 @@
+package com.hwangjr.utils.basic;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Render the stack trace of throwable like {@link Throwable#printStackTrace()}, but bounded.
+ * <ul>
+ * <li>at most maxFrames frames are rendered for each throwable, the rest are counted as "... n more".</li>
+ * <li>at most maxCauses "Caused by" throwables are rendered, the rest are counted as "... n more causes".</li>
+ * <li>the text of the recently rendered frames is cached in a striped LRU cache, so the repeated exceptions render
+ * without creating strings.</li>
+ * <li>the trace is appended to the given {@link StringBuilder} or {@link Appendable}, and
+ * {@link #render(Throwable)} reuses a builder of the current thread.</li>
+ * </ul>
+ * The suppressed exceptions are not rendered.
+ */
+public final class StackTraceRenderer {
+    /**
+     * renderer without bound, the same output as {@link Throwable#printStackTrace()}, except the suppressed.
+     */
+    public static final StackTraceRenderer FULL = new StackTraceRenderer(Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    private static final int FRAME_CACHE_STRIPES = 16;
+    private static final int MAX_CACHED_FRAMES_PER_STRIPE = 64;
+    private static final int MAX_REUSED_CAPACITY = 16 * 1024;
+    private static final FrameCache[] FRAME_CACHE = new FrameCache[FRAME_CACHE_STRIPES];
+    private static final ThreadLocal<StringBuilder> BUILDER = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(512);
+        }
+    };
+
+    static {
+        for (int i = 0; i < FRAME_CACHE_STRIPES; i++) {
+            FRAME_CACHE[i] = new FrameCache();
+        }
+    }
+
+    private final int maxFrames;
+    private final int maxCauses;
+
+    /**
+     * @param maxFrames max count of the frames rendered for each throwable
+     * @param maxCauses max count of the "Caused by" throwables
+     */
+    public StackTraceRenderer(int maxFrames, int maxCauses) {
+        if (maxFrames < 0 || maxCauses < 0) {
+            throw new IllegalArgumentException("maxFrames and maxCauses MUST NOT be negative!");
+        }
+        this.maxFrames = maxFrames;
+        this.maxCauses = maxCauses;
+    }
+
+    public int getMaxFrames() {
+        return maxFrames;
+    }
+
+    public int getMaxCauses() {
+        return maxCauses;
+    }
+
+    /**
+     * render the stack trace to string, by the reusable builder of the current thread.
+     */
+    public String render(Throwable throwable) {
+        StringBuilder builder = BUILDER.get();
+        builder.setLength(0);
+        render(throwable, builder);
+        String result = builder.toString();
+        if (builder.capacity() > MAX_REUSED_CAPACITY) {
+            BUILDER.remove();
+        }
+        return result;
+    }
+
+    /**
+     * append the stack trace to the builder.
+     *
+     * @return builder
+     */
+    public StringBuilder render(Throwable throwable, StringBuilder builder) {
+        try {
+            render(throwable, (Appendable) builder);
+        } catch (IOException e) {
+            // StringBuilder never throws IOException
+            throw new IllegalStateException(e);
+        }
+        return builder;
+    }
+
+    /**
+     * append the stack trace to the appendable.
+     *
+     * @return appendable
+     */
+    public Appendable render(Throwable throwable, Appendable appendable) throws IOException {
+        appendable.append(String.valueOf(throwable)).append('\n');
+        if (throwable == null) {
+            return appendable;
+        }
+        StackTraceElement[] trace = throwable.getStackTrace();
+        appendFrames(appendable, trace, trace.length);
+        Map<Throwable, Boolean> rendered = null;
+        Throwable cause = throwable.getCause();
+        for (int depth = 0; cause != null && depth < maxCauses; depth++) {
+            if (rendered == null) {
+                rendered = new IdentityHashMap<>();
+                rendered.put(throwable, Boolean.TRUE);
+            }
+            if (rendered.put(cause, Boolean.TRUE) != null) {
+                appendable.append("\t[CIRCULAR REFERENCE:").append(String.valueOf(cause)).append("]\n");
+                return appendable;
+            }
+            StackTraceElement[] causeTrace = cause.getStackTrace();
+            int m = causeTrace.length - 1;
+            int n = trace.length - 1;
+            while (m >= 0 && n >= 0 && causeTrace[m].equals(trace[n])) {
+                m--;
+                n--;
+            }
+            appendable.append("Caused by: ").append(String.valueOf(cause)).append('\n');
+            appendFrames(appendable, causeTrace, m + 1);
+            trace = causeTrace;
+            cause = cause.getCause();
+        }
+        if (cause != null) {
+            appendMoreCauses(appendable, cause, rendered == null ? new IdentityHashMap<Throwable, Boolean>() : rendered);
+        }
+        return appendable;
+    }
+
+    /**
+     * append the count of the causes which are not rendered as "... n more causes", till the end or a circular one.
+     */
+    private static void appendMoreCauses(Appendable appendable, Throwable cause, Map<Throwable, Boolean> rendered)
+            throws IOException {
+        int more = 0;
+        while (cause != null && rendered.put(cause, Boolean.TRUE) == null) {
+            more++;
+            cause = cause.getCause();
+        }
+        if (more > 0) {
+            appendable.append("\t... ").append(String.valueOf(more)).append(" more causes\n");
+        }
+    }
+
+    /**
+     * append the first count frames, the frames exceed maxFrames or not in count are "... n more".
+     */
+    private void appendFrames(Appendable appendable, StackTraceElement[] trace, int count) throws IOException {
+        int rendered = Math.min(count, maxFrames);
+        for (int i = 0; i < rendered; i++) {
+            appendable.append(getFrameText(trace[i]));
+        }
+        int more = trace.length - rendered;
+        if (more > 0) {
+            appendable.append("\t... ").append(String.valueOf(more)).append(" more\n");
+        }
+    }
+
+    private static String getFrameText(StackTraceElement element) {
+        int hash = element.hashCode();
+        FrameCache cache = FRAME_CACHE[(hash ^ (hash >>> 16)) & (FRAME_CACHE_STRIPES - 1)];
+        String text;
+        synchronized (cache) {
+            text = cache.get(element);
+        }
+        if (text == null) {
+            text = "\tat " + element + "\n";
+            synchronized (cache) {
+                cache.put(element, text);
+            }
+        }
+        return text;
+    }
+
+    /**
+     * one stripe of the frame cache, the least recently used frame is evicted.
+     */
+    private static final class FrameCache extends LinkedHashMap<StackTraceElement, String> {
+        private static final long serialVersionUID = 1L;
+
+        FrameCache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<StackTraceElement, String> eldest) {
+            return size() > MAX_CACHED_FRAMES_PER_STRIPE;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.hwangjr.utils.basic;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Metadata of a class, it is built once and cached by {@link ClassHelper}.
+ * <p/>
+ * Holds the boxed and unboxed counterparts, the default value, the init value strings and the size strategy,
+ * so the boxing and sizing helpers of {@link ClassHelper} only need one lookup.
+ */
+final class TypeInfo {
+    final Class<?> boxedType;
+    final Class<?> unboxedType;
+
+    /**
+     * default value of the class, like: 0 for int, false for boolean, null for Object
+     */
+    final Object defaultValue;
+
+    /**
+     * see {@link ClassHelper#getInitValue(Class)}
+     */
+    final String initValue;
+
+    /**
+     * see {@link ClassHelper#getInitValueWithType(Class)}
+     */
+    final String initValueWithType;
+
+    /**
+     * see {@link ClassHelper#getSize(Object)}
+     */
+    final Sizer sizer;
+
+    private TypeInfo(Class<?> type) {
+        if (type.isPrimitive()) {
+            this.unboxedType = type;
+            this.boxedType = boxedType(type);
+        } else {
+            this.unboxedType = unboxedType(type);
+            this.boxedType = type;
+        }
+        this.defaultValue = defaultValue(type);
+        this.initValue = initValue(type);
+        this.initValueWithType = initValueWithType(type);
+        this.sizer = sizer(type);
+    }
+
+    /**
+     * build the metadata of the given class.
+     */
+    static TypeInfo build(Class<?> type) {
+        return new TypeInfo(type);
+    }
+
+    private static Class<?> boxedType(Class<?> type) {
+        if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == char.class) {
+            return Character.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else {
+            return type;
+        }
+    }
+
+    private static Class<?> unboxedType(Class<?> type) {
+        if (type == Boolean.class) {
+            return boolean.class;
+        } else if (type == Character.class) {
+            return char.class;
+        } else if (type == Byte.class) {
+            return byte.class;
+        } else if (type == Short.class) {
+            return short.class;
+        } else if (type == Integer.class) {
+            return int.class;
+        } else if (type == Long.class) {
+            return long.class;
+        } else if (type == Float.class) {
+            return float.class;
+        } else if (type == Double.class) {
+            return double.class;
+        } else {
+            return type;
+        }
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return Boolean.FALSE;
+        } else if (type == char.class) {
+            return '\0';
+        } else if (type == byte.class) {
+            return (byte) 0;
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == float.class) {
+            return 0f;
+        } else if (type == double.class) {
+            return 0d;
+        } else {
+            return null;
+        }
+    }
+
+    private static String initValue(Class<?> type) {
+        if (byte.class.equals(type) || short.class.equals(type) ||
+                int.class.equals(type) || long.class.equals(type) ||
+                float.class.equals(type) || double.class.equals(type)) {
+            return "0";
+        } else if (char.class.equals(type)) {
+            return "'\\0'";
+        } else if (boolean.class.equals(type)) {
+            return "false";
+        } else {
+            return "null";
+        }
+    }
+
+    private static String initValueWithType(Class<?> type) {
+        if (byte.class.equals(type)) {
+            return "(byte) 0";
+        } else if (short.class.equals(type)) {
+            return "(short) 0";
+        } else if (int.class.equals(type)) {
+            return "0";
+        } else if (long.class.equals(type)) {
+            return "0l";
+        } else if (float.class.equals(type)) {
+            return "0f";
+        } else if (double.class.equals(type)) {
+            return "0d";
+        } else if (char.class.equals(type)) {
+            return "'\\0'";
+        } else if (boolean.class.equals(type)) {
+            return "false";
+        } else {
+            return "(" + type.getCanonicalName() + ") null";
+        }
+    }
+
+    private static Sizer sizer(Class<?> type) {
+        if (Collection.class.isAssignableFrom(type)) {
+            return Sizer.COLLECTION;
+        } else if (Map.class.isAssignableFrom(type)) {
+            return Sizer.MAP;
+        } else if (Object[].class.isAssignableFrom(type)) {
+            return Sizer.OBJECT_ARRAY;
+        } else if (type == int[].class) {
+            return Sizer.INT_ARRAY;
+        } else if (type == long[].class) {
+            return Sizer.LONG_ARRAY;
+        } else if (type == float[].class) {
+            return Sizer.FLOAT_ARRAY;
+        } else if (type == double[].class) {
+            return Sizer.DOUBLE_ARRAY;
+        } else if (type == short[].class) {
+            return Sizer.SHORT_ARRAY;
+        } else if (type == byte[].class) {
+            return Sizer.BYTE_ARRAY;
+        } else if (type == char[].class) {
+            return Sizer.CHAR_ARRAY;
+        } else if (type == boolean[].class) {
+            return Sizer.BOOLEAN_ARRAY;
+        } else {
+            return Sizer.NONE;
+        }
+    }
+
+    /**
+     * size strategy of a class, see {@link ClassHelper#getSize(Object)}
+     */
+    abstract static class Sizer {
+        static final Sizer NONE = new Sizer() {
+            @Override
+            int size(Object object) {
+                return -1;
+            }
+        };
+        static final Sizer COLLECTION = new Sizer() {
+            @Override
+            int size(Object object) {
+                return ((Collection<?>) object).size();
+            }
+        };
+        static final Sizer MAP = new Sizer() {
+            @Override
+            int size(Object object) {
+                return ((Map<?, ?>) object).size();
+            }
+        };
+        static final Sizer OBJECT_ARRAY = new Sizer() {
+            @Override
+            int size(Object object) {
+                return ((Object[]) object).length;
+            }
+        };
+        static final Sizer INT_ARRAY = new Sizer() {
+            @Override
+            int size(Object object) {
+                return ((int[]) object).length;
+            }
+        };
+        static final Sizer LONG_ARRAY = new Sizer() {
+            @Override
+            int size(Object object) {
+                return ((long[]) object).length;
+            }
+        };
+        static final Sizer FLOAT_ARRAY = new Sizer() {
+            @Override
+            int size(Object object) {
+                return ((float[]) object).length;
+            }
+        };
+        static final Sizer DOUBLE_ARRAY = new Sizer() {
+            @Override
+            int size(Object object) {
+                return ((double[]) object).length;
+            }
+        };
+        static final Sizer SHORT_ARRAY = new Sizer() {
+            @Override
+            int size(Object object) {
+                return ((short[]) object).length;
+            }
+        };
+        static final Sizer BYTE_ARRAY = new Sizer() {
+            @Override
+            int size(Object object) {
+                return ((byte[]) object).length;
+            }
+        };
+        static final Sizer CHAR_ARRAY = new Sizer() {
+            @Override
+            int size(Object object) {
+                return ((char[]) object).length;
+            }
+        };
+        static final Sizer BOOLEAN_ARRAY = new Sizer() {
+            @Override
+            int size(Object object) {
+                return ((boolean[]) object).length;
+            }
+        };
+
+        abstract int size(Object object);
+    }
+}
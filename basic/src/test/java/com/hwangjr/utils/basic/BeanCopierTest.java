@@ -0,0 +1,186 @@
+package com.hwangjr.utils.basic;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BeanCopierTest {
+    public static final class Code {
+        final String value;
+
+        public Code(String value) {
+            this.value = value;
+        }
+    }
+
+    public static final class Label {
+        final String value;
+
+        public Label(String value) {
+            this.value = value;
+        }
+    }
+
+    public static class Source {
+        private String name;
+        private String age;
+        private int count;
+        private Code code;
+        private Object any;
+
+        public Source() {
+        }
+
+        public Source(String name, String age, int count, Code code, Object any) {
+            this.name = name;
+            this.age = age;
+            this.count = count;
+            this.code = code;
+            this.any = any;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getAge() {
+            return age;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public Code getCode() {
+            return code;
+        }
+
+        public Object getAny() {
+            return any;
+        }
+
+        public String getOnlySource() {
+            return "source";
+        }
+    }
+
+    public static class Target {
+        private String name = "default";
+        private int age;
+        private Long count;
+        private Label code;
+        private long any;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public Long getCount() {
+            return count;
+        }
+
+        public void setCount(Long count) {
+            this.count = count;
+        }
+
+        public Label getCode() {
+            return code;
+        }
+
+        public void setCode(Label code) {
+            this.code = code;
+        }
+
+        public long getAny() {
+            return any;
+        }
+
+        public void setAny(long any) {
+            this.any = any;
+        }
+    }
+
+    private static ConverterRegistry.IConverter codeToLabel(final String prefix) {
+        return new ConverterRegistry.IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return new Label(prefix + ((Code) value).value);
+            }
+        };
+    }
+
+    @Test
+    public void copyConvertsDifferentTypes() {
+        BeanCopier<Source, Target> copier = BeanCopier.create(Source.class, Target.class);
+        assertSame(copier, BeanCopier.create(Source.class, Target.class));
+        Target target = copier.copy(new Source("a", "12", 3, null, 5));
+        assertEquals("a", target.getName());
+        assertEquals(12, target.getAge());
+        assertEquals(Long.valueOf(3), target.getCount());
+        // the type of the value is only known at runtime
+        assertEquals(5, target.getAny());
+        assertNull(target.getCode());
+    }
+
+    @Test
+    public void nullAndFailedPropertiesAreSkipped() {
+        Target target = new Target();
+        BeanCopier.copyProperties(new Source(null, "not a number", 1, null, "x"), target);
+        assertEquals("default", target.getName());
+        assertEquals(0, target.getAge());
+        assertEquals(Long.valueOf(1), target.getCount());
+        assertEquals(0, target.getAny());
+        assertNull(BeanCopier.create(Source.class, Target.class).copy(null));
+    }
+
+    @Test
+    public void registerRecompilesPlan() {
+        BeanCopier<Source, Target> copier = BeanCopier.create(Source.class, Target.class);
+        Source source = new Source("a", "1", 1, new Code("c"), null);
+        // Code can not be set as Label before a converter is registered
+        assertNull(copier.copy(source).getCode());
+
+        ConverterRegistry.register(Code.class, Label.class, codeToLabel("1:"));
+        assertEquals("1:c", copier.copy(source).getCode().value);
+
+        ConverterRegistry.register(Code.class, Label.class, codeToLabel("2:"));
+        assertEquals("2:c", copier.copy(source, new Target()).getCode().value);
+        assertEquals("2:c", copier.copyList(Arrays.asList(source)).get(0).getCode().value);
+    }
+
+    @Test
+    public void copyList() {
+        BeanCopier<Source, Target> copier = BeanCopier.create(Source.class, Target.class);
+        List<Target> targets = copier.copyList(Arrays.asList(new Source("a", "1", 1, null, null), null,
+                new Source("b", "2", 2, null, null)));
+        assertEquals(3, targets.size());
+        assertEquals("a", targets.get(0).getName());
+        assertNull(targets.get(1));
+        assertEquals(2, targets.get(2).getAge());
+        assertTrue(copier.copyList(Arrays.<Source>asList()).isEmpty());
+        assertNull(copier.copyList(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createRejectsNull() {
+        BeanCopier.create(Source.class, null);
+    }
+}
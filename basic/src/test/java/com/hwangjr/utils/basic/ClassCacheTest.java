@@ -0,0 +1,129 @@
+package com.hwangjr.utils.basic;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ClassCacheTest {
+    /**
+     * loaded again by a throwaway class loader as a plugin class.
+     */
+    public static class Plugin {
+        public int value() {
+            return 1;
+        }
+    }
+
+    private static Class<?> loadPlugin() throws ClassNotFoundException {
+        URL location = ClassCacheTest.class.getProtectionDomain().getCodeSource().getLocation();
+        // no parent, so the class is defined by the new loader instead of the one of this test
+        return new URLClassLoader(new URL[]{location}, null).loadClass(Plugin.class.getName());
+    }
+
+    /**
+     * cache the metadata of a new plugin class, which references the class like the real ones.
+     *
+     * @return the loader of the plugin class
+     */
+    private static WeakReference<ClassLoader> cachePlugin(ClassCache<Object> cache) throws ClassNotFoundException {
+        Class<?> type = loadPlugin();
+        cache.putIfAbsent(type, type.getMethods());
+        assertNotNull(cache.get(type));
+        return new WeakReference<>(type.getClassLoader());
+    }
+
+    private static boolean isCollected(WeakReference<?> reference) throws InterruptedException {
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        return reference.get() == null;
+    }
+
+    @Test
+    public void cacheSafeClassIsKeptStrongly() {
+        ClassCache<String> cache = new ClassCache<>(1);
+        assertTrue(ClassCache.isCacheSafe(String.class));
+        assertTrue(ClassCache.isCacheSafe(Plugin.class));
+        assertEquals("a", cache.putIfAbsent(String.class, "a"));
+        assertEquals("a", cache.putIfAbsent(String.class, "b"));
+        assertEquals("c", cache.putIfAbsent(Integer.class, "c"));
+        assertEquals("a", cache.get(String.class));
+        cache.remove(String.class);
+        assertNull(cache.get(String.class));
+        cache.clear();
+        assertNull(cache.get(Integer.class));
+    }
+
+    @Test
+    public void foreignClassLookup() throws ClassNotFoundException {
+        ClassCache<String> cache = new ClassCache<>();
+        Class<?> type = loadPlugin();
+        assertFalse(ClassCache.isCacheSafe(type));
+        assertNull(cache.get(type));
+        assertEquals("a", cache.putIfAbsent(type, "a"));
+        assertEquals("a", cache.putIfAbsent(type, "b"));
+        assertEquals("a", cache.get(type));
+        // the same name from another loader is another class
+        assertNull(cache.get(loadPlugin()));
+        cache.remove(type);
+        assertNull(cache.get(type));
+    }
+
+    @Test
+    public void boundedCacheEvictsLeastRecentlyUsed() throws ClassNotFoundException {
+        ClassCache<String> cache = new ClassCache<>(2);
+        Class<?> first = loadPlugin();
+        Class<?> second = loadPlugin();
+        Class<?> third = loadPlugin();
+        cache.putIfAbsent(first, "first");
+        cache.putIfAbsent(second, "second");
+        assertEquals("first", cache.get(first));
+        cache.putIfAbsent(third, "third");
+        assertEquals("first", cache.get(first));
+        assertNull(cache.get(second));
+        assertEquals("third", cache.get(third));
+    }
+
+    @Test(timeout = 30000)
+    public void evictedClassIsCollected() throws Exception {
+        ClassCache<Object> cache = new ClassCache<>(1);
+        WeakReference<ClassLoader> loader = cachePlugin(cache);
+        // the next plugin evicts the previous one
+        WeakReference<ClassLoader> next = cachePlugin(cache);
+        assertTrue(isCollected(loader));
+        assertFalse(next.get() == null);
+    }
+
+    @Test(timeout = 60000)
+    public void softValueIsReleasedUnderMemoryPressure() throws Exception {
+        ClassCache<Object> cache = new ClassCache<>();
+        WeakReference<ClassLoader> loader = cachePlugin(cache);
+        // the soft references are cleared before OutOfMemoryError
+        List<long[]> blocks = new ArrayList<>();
+        try {
+            while (true) {
+                blocks.add(new long[1 << 21]);
+            }
+        } catch (OutOfMemoryError e) {
+            blocks.clear();
+        }
+        assertTrue(isCollected(loader));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeBoundIsRejected() {
+        new ClassCache<String>(-1);
+    }
+}
@@ -0,0 +1,67 @@
+package com.hwangjr.utils.basic;
+
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class ClassHelperTest {
+    public static class Target {
+        public void call(Number value) {
+        }
+
+        public void call(int value, String name) {
+        }
+    }
+
+    /**
+     * a class which is only used by {@link #missingMethodsAreBounded()}, so its cache starts empty.
+     */
+    public static class Missing {
+    }
+
+    private static void assertNoSuchMethod(Class<?> type, String name) {
+        try {
+            ClassHelper.searchMethod(type, name, null);
+            fail(name);
+        } catch (NoSuchMethodException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void searchMethodIsCached() throws NoSuchMethodException {
+        long hits = ClassHelper.getMethodCacheHitCount();
+        long misses = ClassHelper.getMethodCacheMissCount();
+        Method method = ClassHelper.searchMethod(Target.class, "call", new Class<?>[]{Integer.class});
+        assertEquals(Number.class, method.getParameterTypes()[0]);
+        assertEquals(misses + 1, ClassHelper.getMethodCacheMissCount());
+        assertSame(method, ClassHelper.searchMethod(Target.class, "call", new Class<?>[]{Integer.class}));
+        assertEquals(hits + 1, ClassHelper.getMethodCacheHitCount());
+        assertEquals(misses + 1, ClassHelper.getMethodCacheMissCount());
+
+        assertEquals(int.class, ClassHelper.searchMethod(Target.class, "call",
+                new Class<?>[]{Integer.class, String.class}, true).getParameterTypes()[0]);
+        assertNoSuchMethod(Target.class, "absent");
+        assertNoSuchMethod(Target.class, "absent");
+        assertEquals(misses + 3, ClassHelper.getMethodCacheMissCount());
+        assertEquals(hits + 2, ClassHelper.getMethodCacheHitCount());
+    }
+
+    @Test
+    public void missingMethodsAreBounded() {
+        for (int i = 0; i < 100; i++) {
+            assertNoSuchMethod(Missing.class, "absent" + i);
+        }
+        long hits = ClassHelper.getMethodCacheHitCount();
+        long misses = ClassHelper.getMethodCacheMissCount();
+        // the early results are cached, the ones beyond the bound are resolved again
+        assertNoSuchMethod(Missing.class, "absent0");
+        assertEquals(hits + 1, ClassHelper.getMethodCacheHitCount());
+        assertNoSuchMethod(Missing.class, "absent99");
+        assertEquals(misses + 1, ClassHelper.getMethodCacheMissCount());
+    }
+}
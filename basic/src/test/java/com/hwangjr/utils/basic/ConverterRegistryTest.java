@@ -0,0 +1,140 @@
+package com.hwangjr.utils.basic;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ConverterRegistryTest {
+    public static class Source {
+        final String text;
+
+        public Source(String text) {
+            this.text = text;
+        }
+    }
+
+    public static class Target {
+        final String text;
+
+        public Target(String text) {
+            this.text = text;
+        }
+    }
+
+    /**
+     * a collection which can not be instantiated by the no-arg constructor.
+     */
+    public static class FixedList extends ArrayList<Object> {
+        public FixedList(int capacity) {
+            super(capacity);
+        }
+    }
+
+    private static ConverterRegistry.IConverter prefix(final String prefix) {
+        return new ConverterRegistry.IConverter() {
+            @Override
+            public Object convert(Object value, Class<?> type) {
+                return new Target(prefix + ((Source) value).text);
+            }
+        };
+    }
+
+    @Test
+    public void builtInConverters() {
+        assertEquals(12, ClassHelper.convertCompatibleType("12", int.class));
+        assertEquals(12L, ClassHelper.convertCompatibleType(12, Long.class));
+        assertEquals('c', ClassHelper.convertCompatibleType("c", char.class));
+        assertEquals(Thread.State.NEW, ClassHelper.convertCompatibleType("NEW", Thread.State.class));
+        assertArrayEquals(new Object[]{"a", "b"},
+                (Object[]) ClassHelper.convertCompatibleType(Arrays.asList("a", "b"), String[].class));
+        assertEquals(Arrays.asList("a", "b"), ClassHelper.convertCompatibleType(new String[]{"a", "b"}, List.class));
+        assertTrue(ClassHelper.convertCompatibleType(Arrays.asList("a", "a"), Set.class) instanceof Set);
+        assertEquals(new LinkedList<>(Arrays.asList("a")),
+                ClassHelper.convertCompatibleType(Collections.singletonList("a"), LinkedList.class));
+        assertNull(ClassHelper.convertCompatibleType(null, int.class));
+    }
+
+    @Test
+    public void uninstantiableCollectionKeepsValue() {
+        List<String> value = Arrays.asList("a", "b");
+        assertSame(value, ClassHelper.convertCompatibleType(value, FixedList.class));
+    }
+
+    @Test
+    public void registerInvalidatesResolvedPairs() {
+        Source source = new Source("x");
+        // memoize the pair before any converter is registered
+        assertSame(ConverterRegistry.IDENTITY, ConverterRegistry.find(Source.class, Target.class));
+        assertSame(source, ClassHelper.convertCompatibleType(source, Target.class));
+
+        int version = ConverterRegistry.version();
+        ConverterRegistry.register(Source.class, Target.class, prefix("1:"));
+        assertTrue(ConverterRegistry.version() != version);
+        assertEquals("1:x", ((Target) ClassHelper.convertCompatibleType(source, Target.class)).text);
+
+        ConverterRegistry.register(Source.class, Target.class, prefix("2:"));
+        assertEquals("2:x", ((Target) ClassHelper.convertCompatibleType(source, Target.class)).text);
+        assertSame(ConverterRegistry.find(Source.class, Target.class), ConverterRegistry.find(Source.class, Target.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void registerRejectsNull() {
+        ConverterRegistry.register(Source.class, Target.class, null);
+    }
+
+    @Test(timeout = 30000)
+    public void dateParsingIsThreadSafe() throws InterruptedException {
+        final int threads = 4;
+        final String[] texts = new String[threads];
+        final Date[] expected = new Date[threads];
+        SimpleDateFormat format = new SimpleDateFormat(ConverterRegistry.DATE_FORMAT);
+        for (int i = 0; i < threads; i++) {
+            expected[i] = new Date((1000000000L + i * 86400L * 397) * 1000);
+            texts[i] = format.format(expected[i]);
+        }
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            final int index = t;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < 2000; i++) {
+                            Object date = ClassHelper.convertCompatibleType(texts[index], Date.class);
+                            if (!expected[index].equals(date)) {
+                                throw new AssertionError(texts[index] + " is parsed to " + date);
+                            }
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+        done.await();
+        assertNull(failure.get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void invalidDateFails() {
+        ClassHelper.convertCompatibleType("not a date", Date.class);
+    }
+}
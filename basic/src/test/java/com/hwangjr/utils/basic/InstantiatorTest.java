@@ -0,0 +1,118 @@
+package com.hwangjr.utils.basic;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class InstantiatorTest {
+    public static class Bean {
+    }
+
+    /**
+     * public constructor of a private class, it can not be called by reflection from another class.
+     */
+    private static class PrivateBean {
+        public PrivateBean() {
+        }
+    }
+
+    static class PackageOuter {
+        public static class Nested {
+        }
+    }
+
+    public static final class Singleton {
+        private Singleton() {
+        }
+    }
+
+    public abstract static class AbstractBean {
+    }
+
+    public static class NoDefaultConstructor {
+        public NoDefaultConstructor(int value) {
+        }
+    }
+
+    public static class FailingBean {
+        static int calls;
+
+        public FailingBean() {
+            if (++calls == 1) {
+                throw new IllegalArgumentException("first call");
+            }
+        }
+    }
+
+    /**
+     * @return the exception of the failed call
+     */
+    private static IllegalStateException newInstanceFails(Class<?> type) {
+        try {
+            ClassHelper.newInstance(type);
+        } catch (IllegalStateException e) {
+            return e;
+        }
+        fail(type.getName());
+        return null;
+    }
+
+    private static void assertFailsFast(Class<?> type) {
+        newInstanceFails(type);
+        // the cached failure is thrown without the stack trace
+        assertEquals(0, newInstanceFails(type).getStackTrace().length);
+    }
+
+    @Test
+    public void collectionsAreCreatedDirectly() {
+        assertEquals(ArrayList.class, ClassHelper.newInstance(List.class).getClass());
+        assertEquals(ArrayList.class, ClassHelper.newInstance(Collection.class).getClass());
+        assertEquals(HashMap.class, ClassHelper.newInstance(Map.class).getClass());
+        assertEquals(LinkedList.class, ClassHelper.newInstance(Queue.class).getClass());
+        assertEquals(TreeSet.class, ClassHelper.newInstance(NavigableSet.class).getClass());
+        assertEquals(ConcurrentHashMap.class, ClassHelper.newInstance(ConcurrentMap.class).getClass());
+    }
+
+    @Test
+    public void publicConstructorIsCalled() {
+        Bean bean = ClassHelper.newInstance(Bean.class);
+        assertNotSame(bean, ClassHelper.newInstance(Bean.class));
+        assertTrue(ClassHelper.newInstance(StringBuilder.class) instanceof StringBuilder);
+    }
+
+    @Test
+    public void uninstantiableClassesFailFast() {
+        assertFailsFast(PrivateBean.class);
+        assertFailsFast(PackageOuter.Nested.class);
+        assertFailsFast(Singleton.class);
+        assertFailsFast(AbstractBean.class);
+        assertFailsFast(NoDefaultConstructor.class);
+        assertFailsFast(Runnable.class);
+        assertFailsFast(int[].class);
+        assertFailsFast(int.class);
+        assertFailsFast(new Object() {
+        }.getClass());
+    }
+
+    @Test
+    public void constructorFailureIsNotCached() {
+        IllegalStateException e = newInstanceFails(FailingBean.class);
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+        assertTrue(ClassHelper.newInstance(FailingBean.class) instanceof FailingBean);
+    }
+}
@@ -0,0 +1,205 @@
+package com.hwangjr.utils.basic;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class NumberParserTest {
+    private static final String[] INTEGRAL = {
+            "0", "-0", "+0", "7", "-7", "+7", "007", "-007", "123456789",
+            "2147483647", "-2147483648", "2147483648", "-2147483649", "21474836470",
+            "9223372036854775807", "-9223372036854775808", "9223372036854775808", "-9223372036854775809",
+            "99999999999999999999", "-", "+", "--1", "+-1", "1-", "1.0", "1e3", "0x10", " 1", "1 ", "",
+            "abc", "12a", "\u0661\u0662", "\uff11",
+    };
+
+    private static final String[] DECIMAL = {
+            "0", "-0", "+0", "0.0", "-0.0", ".5", "5.", "-.5", "1.5", "3.14159", "0.1", "0.2", "0.3",
+            "1e0", "1E5", "1e-5", "-1.5e+10", "1e22", "1e23", "1e-22", "1e-23", "123456789012345", "1234567890123456",
+            "12345678901234567890", "0.000000000000000000000000000001", "1e308", "1e309", "-1e309", "4.9e-324", "1e-400",
+            "1.7976931348623157E308", "2.2250738585072014E-308", "16777216", "16777217", "3.4028235e38", "3.4028236e38",
+            "1.4e-45", "0.1e1", "1e0010", "1e99999", "1e-99999",
+            "NaN", "-NaN", "+NaN", "Infinity", "-Infinity", "+Infinity", "0x1p4", "0x1.8p1", "-0X10P0", "1d", "1f", "1.5F",
+            " 1", "1 ", "\t2.5\n",
+            "", ".", "-", "e5", "1e", "1e+", "1.2.3", "1..2", "abc", "1,5", "nan", "infinity", "0x", "1e5.5", "\u0661",
+    };
+
+    private static List<String> randomDecimals() {
+        Random random = new Random(1);
+        List<String> strings = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            strings.add(Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20)));
+            strings.add(Float.toString(random.nextFloat() * (float) Math.pow(10, random.nextInt(20) - 10)));
+            strings.add((random.nextInt(2000000) - 1000000) + "." + random.nextInt(1000000) + "e" + (random.nextInt(50) - 25));
+            strings.add(Long.toString(random.nextLong() >> random.nextInt(64)));
+        }
+        return strings;
+    }
+
+    /**
+     * the result of the JDK parser, the thrown exception class if it fails.
+     */
+    private abstract static class Parser {
+        abstract Object parse(String value);
+
+        Object parseOrFailure(String value) {
+            try {
+                return parse(value);
+            } catch (RuntimeException e) {
+                return e.getClass();
+            }
+        }
+    }
+
+    private static void assertSameAs(Parser expected, Parser actual, List<String> values) {
+        for (String value : values) {
+            assertEquals("\"" + value + "\"", expected.parseOrFailure(value), actual.parseOrFailure(value));
+        }
+    }
+
+    private static List<String> nonEmpty(String[] values) {
+        List<String> list = new ArrayList<>(Arrays.asList(values));
+        list.remove("");
+        return list;
+    }
+
+    @Test
+    public void intMatchesJdk() {
+        assertSameAs(new Parser() {
+            @Override
+            Object parse(String value) {
+                return Integer.parseInt(value);
+            }
+        }, new Parser() {
+            @Override
+            Object parse(String value) {
+                return ClassHelper.toInt(new StringBuilder(value));
+            }
+        }, nonEmpty(INTEGRAL));
+    }
+
+    @Test
+    public void longMatchesJdk() {
+        List<String> values = nonEmpty(INTEGRAL);
+        values.addAll(randomDecimals());
+        assertSameAs(new Parser() {
+            @Override
+            Object parse(String value) {
+                return Long.parseLong(value);
+            }
+        }, new Parser() {
+            @Override
+            Object parse(String value) {
+                return ClassHelper.toLong(value);
+            }
+        }, values);
+    }
+
+    @Test
+    public void doubleMatchesJdk() {
+        List<String> values = nonEmpty(DECIMAL);
+        values.addAll(nonEmpty(INTEGRAL));
+        values.addAll(randomDecimals());
+        // compare the bits, so -0.0 and NaN are checked too
+        assertSameAs(new Parser() {
+            @Override
+            Object parse(String value) {
+                return Double.doubleToRawLongBits(Double.parseDouble(value));
+            }
+        }, new Parser() {
+            @Override
+            Object parse(String value) {
+                return Double.doubleToRawLongBits(ClassHelper.toDouble((CharSequence) value));
+            }
+        }, values);
+    }
+
+    @Test
+    public void floatMatchesJdk() {
+        List<String> values = nonEmpty(DECIMAL);
+        values.addAll(nonEmpty(INTEGRAL));
+        values.addAll(randomDecimals());
+        assertSameAs(new Parser() {
+            @Override
+            Object parse(String value) {
+                return Float.floatToRawIntBits(Float.parseFloat(value));
+            }
+        }, new Parser() {
+            @Override
+            Object parse(String value) {
+                return Float.floatToRawIntBits(ClassHelper.toFloat(value));
+            }
+        }, values);
+    }
+
+    @Test
+    public void defaultValueOnError() {
+        for (String value : INTEGRAL) {
+            int expected;
+            try {
+                expected = Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                expected = -1;
+            }
+            assertEquals(value, expected, ClassHelper.toInt(value, -1));
+        }
+        for (String value : DECIMAL) {
+            double expected;
+            try {
+                expected = Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                expected = -1;
+            }
+            assertEquals(value, Double.doubleToRawLongBits(expected),
+                    Double.doubleToRawLongBits(ClassHelper.toDouble(value, -1)));
+        }
+        assertEquals(-1, ClassHelper.toLong((CharSequence) null, -1));
+        assertEquals(-1, ClassHelper.toLong("9223372036854775808", -1));
+        assertEquals(12, ClassHelper.toLong("\u0661\u0662", -1));
+        assertEquals(-1f, ClassHelper.toFloat("1.5f.", -1f), 0);
+        assertEquals(0, ClassHelper.toInt(""));
+        assertEquals(0, ClassHelper.toDouble((Object) null), 0);
+        assertEquals(5, ClassHelper.toInt((Object) new StringBuilder("5")));
+    }
+
+    @Test
+    public void rangesOfCharsAndSequence() {
+        String text = "x-12,3.5e2,abc,";
+        char[] chars = text.toCharArray();
+        assertEquals(-12, ClassHelper.toInt(text, 1, 4, 0));
+        assertEquals(-12, ClassHelper.toInt(chars, 1, 4, 0));
+        assertEquals(-12L, ClassHelper.toLong(chars, 1, 4, 0));
+        assertEquals(350.0, ClassHelper.toDouble(chars, 5, 10, 0), 0);
+        assertEquals(350.0f, ClassHelper.toFloat(new StringBuilder(text), 5, 10, 0), 0);
+        assertEquals(-1, ClassHelper.toInt(chars, 11, 14, -1));
+        assertEquals(-1, ClassHelper.toLong(text, 4, 4, -1));
+        assertEquals(-1.0, ClassHelper.toDouble(chars, 15, 15, -1), 0);
+        assertEquals(-1, ClassHelper.toInt((char[]) null, 0, 0, -1));
+    }
+
+    @Test
+    public void invalidRangeIsRejected() {
+        char[] chars = "123".toCharArray();
+        int[][] ranges = {{-1, 1}, {0, 4}, {2, 1}, {4, 4}, {-1, -1}};
+        for (int[] range : ranges) {
+            try {
+                ClassHelper.toInt(chars, range[0], range[1], 0);
+                fail("toInt " + Arrays.toString(range));
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+            try {
+                ClassHelper.toDouble("123", range[0], range[1], 0);
+                fail("toDouble " + Arrays.toString(range));
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.hwangjr.utils.basic;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ObjectHelperTest {
+    @Test
+    public void viewsWriteThrough() {
+        boolean[] booleans = {true, false};
+        List<Boolean> booleanList = ObjectHelper.asList(booleans);
+        assertEquals(Boolean.TRUE, booleanList.set(0, false));
+        assertFalse(booleans[0]);
+        booleans[1] = true;
+        assertEquals(Arrays.asList(false, true), booleanList);
+
+        char[] chars = {'a', 'b'};
+        List<Character> charList = ObjectHelper.asList(chars);
+        assertEquals(Character.valueOf('b'), charList.set(1, 'c'));
+        assertEquals('c', chars[1]);
+        assertEquals(1, charList.indexOf('c'));
+
+        byte[] bytes = {1, 2, 3};
+        List<Byte> byteList = ObjectHelper.asList(bytes);
+        byteList.set(2, (byte) -1);
+        assertEquals(-1, bytes[2]);
+        assertEquals(Arrays.asList((byte) 1, (byte) 2, (byte) -1), byteList);
+
+        short[] shorts = {1, 2, 1};
+        List<Short> shortList = ObjectHelper.asList(shorts);
+        shorts[1] = 5;
+        assertEquals(Short.valueOf((short) 5), shortList.get(1));
+        assertEquals(2, shortList.lastIndexOf((short) 1));
+
+        int[] ints = {3, 1, 2};
+        List<Integer> intList = ObjectHelper.asList(ints);
+        Collections.sort(intList);
+        assertArrayEquals(new int[]{1, 2, 3}, ints);
+        assertEquals(3, intList.size());
+
+        long[] longs = {1, 2, 3};
+        List<Long> longList = ObjectHelper.asList(longs);
+        Collections.reverse(longList);
+        assertArrayEquals(new long[]{3, 2, 1}, longs);
+        assertEquals(Long.valueOf(3), longList.get(0));
+
+        float[] floats = {0.5f};
+        ObjectHelper.asList(floats).set(0, 1.5f);
+        assertEquals(1.5f, floats[0], 0);
+
+        double[] doubles = {0.5};
+        ObjectHelper.asList(doubles).set(0, 2.5);
+        assertEquals(2.5, doubles[0], 0);
+    }
+
+    @Test
+    public void viewsOfEmptyArrays() {
+        assertTrue(ObjectHelper.asList(new int[0]).isEmpty());
+        assertEquals(-1, ObjectHelper.asList(new long[0]).indexOf(1L));
+    }
+
+    @Test
+    public void indexOfMatchesBoxedEquals() {
+        List<Double> doubles = ObjectHelper.asList(new double[]{0.0, Double.NaN, -0.0, 1});
+        // like Double.equals, NaN equals itself and -0.0 is not 0.0
+        assertEquals(1, doubles.indexOf(Double.NaN));
+        assertTrue(doubles.contains(Double.NaN));
+        assertEquals(0, doubles.indexOf(0.0));
+        assertEquals(2, doubles.indexOf(-0.0));
+        assertEquals(2, doubles.lastIndexOf(-0.0));
+        assertEquals(-1, doubles.indexOf(1f));
+        assertEquals(-1, doubles.indexOf(null));
+
+        List<Float> floats = ObjectHelper.asList(new float[]{Float.NaN, -0.0f, 0.0f});
+        assertEquals(0, floats.indexOf(Float.NaN));
+        assertEquals(1, floats.indexOf(-0.0f));
+        assertEquals(2, floats.lastIndexOf(0.0f));
+        assertEquals(-1, floats.indexOf(0.0));
+
+        assertEquals(-1, ObjectHelper.asList(new int[]{1}).indexOf(1L));
+        assertFalse(ObjectHelper.asList(new long[]{1}).contains(1));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void setNullIsRejected() {
+        ObjectHelper.asList(new int[1]).set(0, null);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void viewIsFixedSize() {
+        ObjectHelper.asList(new int[1]).add(1);
+    }
+
+    @Test
+    public void boxAndUnboxIntoDestination() {
+        Long[] boxed = new Long[4];
+        assertSame(boxed, ObjectHelper.box(new long[]{1, 2, 3}, 1, boxed, 2, 2));
+        assertArrayEquals(new Long[]{null, null, 2L, 3L}, boxed);
+
+        long[] unboxed = new long[5];
+        assertSame(unboxed, ObjectHelper.unbox(boxed, 0, unboxed, 1, 4, -1));
+        assertArrayEquals(new long[]{0, -1, -1, 2, 3}, unboxed);
+
+        int[] ints = ObjectHelper.unbox(new Integer[]{1, null}, 0, new int[2], 0, 2, 7);
+        assertArrayEquals(new int[]{1, 7}, ints);
+        assertArrayEquals(new Object[]{'a', 'b'}, ObjectHelper.box(new char[]{'a', 'b'}, 0, new Character[2], 0, 2));
+        assertArrayEquals(new Object[]{true}, ObjectHelper.box(new boolean[]{true}, 0, new Boolean[1], 0, 1));
+        assertEquals(Double.NaN, ObjectHelper.unbox(new Double[]{null}, 0, new double[1], 0, 1, Double.NaN)[0], 0);
+        assertArrayEquals(new Object[0], ObjectHelper.box(new int[0], 0, new Integer[0], 0, 0));
+    }
+
+    @Test
+    public void boxAndUnboxCheckRange() {
+        int[][] ranges = {
+                // sourcePos, destPos, length
+                {-1, 0, 1}, {0, -1, 1}, {0, 0, -1}, {2, 0, 2}, {0, 3, 2}, {Integer.MAX_VALUE, 0, 2}, {0, 0, 4},
+        };
+        for (int[] range : ranges) {
+            try {
+                ObjectHelper.box(new int[3], range[0], new Integer[4], range[1], range[2]);
+                fail(Arrays.toString(range));
+            } catch (ArrayIndexOutOfBoundsException e) {
+                // expected
+            }
+            try {
+                ObjectHelper.unbox(new Integer[3], range[0], new int[4], range[1], range[2], 0);
+                fail(Arrays.toString(range));
+            } catch (ArrayIndexOutOfBoundsException e) {
+                // expected
+            }
+        }
+        Integer[] dest = new Integer[2];
+        try {
+            ObjectHelper.box(new int[]{1, 2, 3}, 0, dest, 0, 3);
+            fail();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // nothing is written when the range is invalid
+            assertArrayEquals(new Integer[2], dest);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.hwangjr.utils.basic;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PropertyComparatorTest {
+    public static class Owner {
+        private final Integer age;
+
+        public Owner(Integer age) {
+            this.age = age;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+    }
+
+    public static class Pet {
+        public final String name;
+        private final Owner owner;
+        private final boolean active;
+
+        public Pet(String name, Owner owner, boolean active) {
+            this.name = name;
+            this.owner = owner;
+            this.active = active;
+        }
+
+        public Owner getOwner() {
+            return owner;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static List<String> names(List<Pet> pets) {
+        List<String> names = new ArrayList<>();
+        for (Pet pet : pets) {
+            names.add(pet.name);
+        }
+        return names;
+    }
+
+    private static List<Pet> pets() {
+        return new ArrayList<>(Arrays.asList(
+                new Pet("d", new Owner(30), true),
+                new Pet("b", new Owner(null), false),
+                new Pet("a", new Owner(20), true),
+                new Pet("c", null, false),
+                new Pet("e", new Owner(30), false)));
+    }
+
+    @Test
+    public void nestedPathAndOrder() {
+        List<Pet> pets = pets();
+        Collections.sort(pets, PropertyComparator.<Pet>compile("owner.age, name"));
+        // the value is null if the owner or its age is null, and null is the least
+        assertEquals(Arrays.asList("b", "c", "a", "d", "e"), names(pets));
+
+        Collections.sort(pets, PropertyComparator.<Pet>compile(" owner.age DESC , name desc "));
+        assertEquals(Arrays.asList("e", "d", "a", "c", "b"), names(pets));
+
+        Collections.sort(pets, PropertyComparator.<Pet>compile("active desc, name asc"));
+        assertEquals(Arrays.asList("a", "d", "b", "c", "e"), names(pets));
+    }
+
+    @Test
+    public void mapElements() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", i);
+            row.put("group", i % 2);
+            rows.add(row);
+        }
+        PropertyComparator.<Map<String, Object>>compile("group desc, id desc").sort(rows);
+        assertEquals(3, rows.get(0).get("id"));
+        assertEquals(1, rows.get(1).get("id"));
+        assertEquals(0, rows.get(3).get("id"));
+    }
+
+    @Test
+    public void sortMatchesStableSort() {
+        Random random = new Random(1);
+        List<Pet> pets = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Owner owner = random.nextInt(10) == 0 ? null : new Owner(random.nextInt(10) == 0 ? null : random.nextInt(5));
+            pets.add(new Pet("p" + i, owner, random.nextBoolean()));
+        }
+        // the keys have many ties, so the order of the equal elements is checked
+        PropertyComparator<Pet> comparator = PropertyComparator.compile("active, owner.age desc");
+        List<Pet> expected = new ArrayList<>(pets);
+        Collections.sort(expected, comparator);
+        List<Pet> arrayList = new ArrayList<>(pets);
+        comparator.sort(arrayList);
+        assertEquals(expected, arrayList);
+        List<Pet> linkedList = new LinkedList<>(pets);
+        comparator.sort(linkedList);
+        assertEquals(expected, linkedList);
+    }
+
+    @Test
+    public void invalidExpressionIsRejected() {
+        String[] expressions = {
+                "", " ", ",", "name,", ",name", "name,,age", "name desc asc", "name up", "a..b", ".a", "a.",
+        };
+        for (String expression : expressions) {
+            try {
+                PropertyComparator.compile(expression);
+                fail("\"" + expression + "\"");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+        try {
+            PropertyComparator.compile(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals("name, owner.age desc", PropertyComparator.compile("name, owner.age desc").toString());
+    }
+
+    @Test
+    public void missingPropertyFails() {
+        try {
+            Collections.sort(pets(), PropertyComparator.<Pet>compile("weight"));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("weight"));
+        }
+    }
+}
@@ -106,45 +106,534 @@ public class ArrayHelper {
      * @see {@link ArrayHelper#getLast(Object[], Object, Object, boolean)} Object is Long
      */
     public static long getLast(long[] sourceArray, long value, long defaultValue, boolean isCircle) {
-        if (sourceArray == null || sourceArray.length <= 0) {
+        int currentPosition = indexOf(sourceArray, value);
+        if (currentPosition == -1) {
             return defaultValue;
         }
-        Long[] array = ObjectHelper.transformLongArray(sourceArray);
-        return getLast(array, value, defaultValue, isCircle);
 
+        if (currentPosition == 0) {
+            return isCircle ? sourceArray[sourceArray.length - 1] : defaultValue;
+        }
+        return sourceArray[currentPosition - 1];
     }
 
     /**
      * @see {@link ArrayHelper#getNext(Object[], Object, Object, boolean)} Object is Long
      */
     public static long getNext(long[] sourceArray, long value, long defaultValue, boolean isCircle) {
-        if (sourceArray == null || sourceArray.length <= 0) {
+        int currentPosition = indexOf(sourceArray, value);
+        if (currentPosition == -1) {
             return defaultValue;
         }
-        Long[] array = ObjectHelper.transformLongArray(sourceArray);
-        return getNext(array, value, defaultValue, isCircle);
+
+        if (currentPosition == sourceArray.length - 1) {
+            return isCircle ? sourceArray[0] : defaultValue;
+        }
+        return sourceArray[currentPosition + 1];
     }
 
     /**
      * @see {@link ArrayHelper#getLast(Object[], Object, Object, boolean)} Object is Integer
      */
     public static int getLast(int[] sourceArray, int value, int defaultValue, boolean isCircle) {
-        if (sourceArray == null || sourceArray.length <= 0) {
+        int currentPosition = indexOf(sourceArray, value);
+        if (currentPosition == -1) {
             return defaultValue;
         }
-        Integer[] array = ObjectHelper.transformIntArray(sourceArray);
-        return getLast(array, value, defaultValue, isCircle);
 
+        if (currentPosition == 0) {
+            return isCircle ? sourceArray[sourceArray.length - 1] : defaultValue;
+        }
+        return sourceArray[currentPosition - 1];
     }
 
     /**
      * @see {@link ArrayHelper#getNext(Object[], Object, Object, boolean)} Object is Integer
      */
     public static int getNext(int[] sourceArray, int value, int defaultValue, boolean isCircle) {
-        if (sourceArray == null || sourceArray.length <= 0) {
+        int currentPosition = indexOf(sourceArray, value);
+        if (currentPosition == -1) {
+            return defaultValue;
+        }
+
+        if (currentPosition == sourceArray.length - 1) {
+            return isCircle ? sourceArray[0] : defaultValue;
+        }
+        return sourceArray[currentPosition + 1];
+    }
+
+    /**
+     * @see {@link ArrayHelper#getLast(Object[], Object, Object, boolean)} Object is Short
+     */
+    public static short getLast(short[] sourceArray, short value, short defaultValue, boolean isCircle) {
+        int currentPosition = indexOf(sourceArray, value);
+        if (currentPosition == -1) {
+            return defaultValue;
+        }
+
+        if (currentPosition == 0) {
+            return isCircle ? sourceArray[sourceArray.length - 1] : defaultValue;
+        }
+        return sourceArray[currentPosition - 1];
+    }
+
+    /**
+     * @see {@link ArrayHelper#getNext(Object[], Object, Object, boolean)} Object is Short
+     */
+    public static short getNext(short[] sourceArray, short value, short defaultValue, boolean isCircle) {
+        int currentPosition = indexOf(sourceArray, value);
+        if (currentPosition == -1) {
+            return defaultValue;
+        }
+
+        if (currentPosition == sourceArray.length - 1) {
+            return isCircle ? sourceArray[0] : defaultValue;
+        }
+        return sourceArray[currentPosition + 1];
+    }
+
+    /**
+     * @see {@link ArrayHelper#getLast(Object[], Object, Object, boolean)} Object is Byte
+     */
+    public static byte getLast(byte[] sourceArray, byte value, byte defaultValue, boolean isCircle) {
+        int currentPosition = indexOf(sourceArray, value);
+        if (currentPosition == -1) {
+            return defaultValue;
+        }
+
+        if (currentPosition == 0) {
+            return isCircle ? sourceArray[sourceArray.length - 1] : defaultValue;
+        }
+        return sourceArray[currentPosition - 1];
+    }
+
+    /**
+     * @see {@link ArrayHelper#getNext(Object[], Object, Object, boolean)} Object is Byte
+     */
+    public static byte getNext(byte[] sourceArray, byte value, byte defaultValue, boolean isCircle) {
+        int currentPosition = indexOf(sourceArray, value);
+        if (currentPosition == -1) {
+            return defaultValue;
+        }
+
+        if (currentPosition == sourceArray.length - 1) {
+            return isCircle ? sourceArray[0] : defaultValue;
+        }
+        return sourceArray[currentPosition + 1];
+    }
+
+    /**
+     * @see {@link ArrayHelper#getLast(Object[], Object, Object, boolean)} Object is Character
+     */
+    public static char getLast(char[] sourceArray, char value, char defaultValue, boolean isCircle) {
+        int currentPosition = indexOf(sourceArray, value);
+        if (currentPosition == -1) {
+            return defaultValue;
+        }
+
+        if (currentPosition == 0) {
+            return isCircle ? sourceArray[sourceArray.length - 1] : defaultValue;
+        }
+        return sourceArray[currentPosition - 1];
+    }
+
+    /**
+     * @see {@link ArrayHelper#getNext(Object[], Object, Object, boolean)} Object is Character
+     */
+    public static char getNext(char[] sourceArray, char value, char defaultValue, boolean isCircle) {
+        int currentPosition = indexOf(sourceArray, value);
+        if (currentPosition == -1) {
+            return defaultValue;
+        }
+
+        if (currentPosition == sourceArray.length - 1) {
+            return isCircle ? sourceArray[0] : defaultValue;
+        }
+        return sourceArray[currentPosition + 1];
+    }
+
+    /**
+     * @see {@link ArrayHelper#getLast(Object[], Object, Object, boolean)} Object is Float
+     */
+    public static float getLast(float[] sourceArray, float value, float defaultValue, boolean isCircle) {
+        int currentPosition = indexOf(sourceArray, value);
+        if (currentPosition == -1) {
+            return defaultValue;
+        }
+
+        if (currentPosition == 0) {
+            return isCircle ? sourceArray[sourceArray.length - 1] : defaultValue;
+        }
+        return sourceArray[currentPosition - 1];
+    }
+
+    /**
+     * @see {@link ArrayHelper#getNext(Object[], Object, Object, boolean)} Object is Float
+     */
+    public static float getNext(float[] sourceArray, float value, float defaultValue, boolean isCircle) {
+        int currentPosition = indexOf(sourceArray, value);
+        if (currentPosition == -1) {
+            return defaultValue;
+        }
+
+        if (currentPosition == sourceArray.length - 1) {
+            return isCircle ? sourceArray[0] : defaultValue;
+        }
+        return sourceArray[currentPosition + 1];
+    }
+
+    /**
+     * @see {@link ArrayHelper#getLast(Object[], Object, Object, boolean)} Object is Double
+     */
+    public static double getLast(double[] sourceArray, double value, double defaultValue, boolean isCircle) {
+        int currentPosition = indexOf(sourceArray, value);
+        if (currentPosition == -1) {
+            return defaultValue;
+        }
+
+        if (currentPosition == 0) {
+            return isCircle ? sourceArray[sourceArray.length - 1] : defaultValue;
+        }
+        return sourceArray[currentPosition - 1];
+    }
+
+    /**
+     * @see {@link ArrayHelper#getNext(Object[], Object, Object, boolean)} Object is Double
+     */
+    public static double getNext(double[] sourceArray, double value, double defaultValue, boolean isCircle) {
+        int currentPosition = indexOf(sourceArray, value);
+        if (currentPosition == -1) {
+            return defaultValue;
+        }
+
+        if (currentPosition == sourceArray.length - 1) {
+            return isCircle ? sourceArray[0] : defaultValue;
+        }
+        return sourceArray[currentPosition + 1];
+    }
+
+    /**
+     * @see {@link ArrayHelper#getLast(Object[], Object, Object, boolean)} Object is Boolean
+     */
+    public static boolean getLast(boolean[] sourceArray, boolean value, boolean defaultValue, boolean isCircle) {
+        int currentPosition = indexOf(sourceArray, value);
+        if (currentPosition == -1) {
+            return defaultValue;
+        }
+
+        if (currentPosition == 0) {
+            return isCircle ? sourceArray[sourceArray.length - 1] : defaultValue;
+        }
+        return sourceArray[currentPosition - 1];
+    }
+
+    /**
+     * @see {@link ArrayHelper#getNext(Object[], Object, Object, boolean)} Object is Boolean
+     */
+    public static boolean getNext(boolean[] sourceArray, boolean value, boolean defaultValue, boolean isCircle) {
+        int currentPosition = indexOf(sourceArray, value);
+        if (currentPosition == -1) {
             return defaultValue;
         }
-        Integer[] array = ObjectHelper.transformIntArray(sourceArray);
-        return getNext(array, value, defaultValue, isCircle);
+
+        if (currentPosition == sourceArray.length - 1) {
+            return isCircle ? sourceArray[0] : defaultValue;
+        }
+        return sourceArray[currentPosition + 1];
+    }
+
+    /**
+     * index of the first element which equals to value, -1 if array is empty or not found.
+     */
+    private static int indexOf(long[] sourceArray, long value) {
+        if (sourceArray == null) {
+            return -1;
+        }
+        for (int i = 0; i < sourceArray.length; i++) {
+            if (sourceArray[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * index of the first element which equals to value, -1 if array is empty or not found.
+     */
+    private static int indexOf(int[] sourceArray, int value) {
+        if (sourceArray == null) {
+            return -1;
+        }
+        for (int i = 0; i < sourceArray.length; i++) {
+            if (sourceArray[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * index of the first element which equals to value, -1 if array is empty or not found.
+     */
+    private static int indexOf(short[] sourceArray, short value) {
+        if (sourceArray == null) {
+            return -1;
+        }
+        for (int i = 0; i < sourceArray.length; i++) {
+            if (sourceArray[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * index of the first element which equals to value, -1 if array is empty or not found.
+     */
+    private static int indexOf(byte[] sourceArray, byte value) {
+        if (sourceArray == null) {
+            return -1;
+        }
+        for (int i = 0; i < sourceArray.length; i++) {
+            if (sourceArray[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * index of the first element which equals to value, -1 if array is empty or not found.
+     */
+    private static int indexOf(char[] sourceArray, char value) {
+        if (sourceArray == null) {
+            return -1;
+        }
+        for (int i = 0; i < sourceArray.length; i++) {
+            if (sourceArray[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * index of the first element which equals to value, -1 if array is empty or not found.
+     * the values are compared like {@link Float#equals(Object)}.
+     */
+    private static int indexOf(float[] sourceArray, float value) {
+        if (sourceArray == null) {
+            return -1;
+        }
+        int bits = Float.floatToIntBits(value);
+        for (int i = 0; i < sourceArray.length; i++) {
+            if (Float.floatToIntBits(sourceArray[i]) == bits) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * index of the first element which equals to value, -1 if array is empty or not found.
+     * the values are compared like {@link Double#equals(Object)}.
+     */
+    private static int indexOf(double[] sourceArray, double value) {
+        if (sourceArray == null) {
+            return -1;
+        }
+        long bits = Double.doubleToLongBits(value);
+        for (int i = 0; i < sourceArray.length; i++) {
+            if (Double.doubleToLongBits(sourceArray[i]) == bits) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * index of the first element which equals to value, -1 if array is empty or not found.
+     */
+    private static int indexOf(boolean[] sourceArray, boolean value) {
+        if (sourceArray == null) {
+            return -1;
+        }
+        for (int i = 0; i < sourceArray.length; i++) {
+            if (sourceArray[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * remove duplicate values in array, keep the first occurrence and the order.
+     * the distinct values are moved to the front of array, the rest of array is unspecified.
+     *
+     * @param sourceArray
+     * @return the count of distinct values, which is the new length of array
+     */
+    public static int distinct(long[] sourceArray) {
+        if (sourceArray == null) {
+            return 0;
+        }
+        LongHashSet values = new LongHashSet(sourceArray.length);
+        int size = 0;
+        for (long value : sourceArray) {
+            if (values.add(value)) {
+                sourceArray[size++] = value;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * remove duplicate values in array, keep the first occurrence and the order.
+     * the distinct values are moved to the front of array, the rest of array is unspecified.
+     *
+     * @param sourceArray
+     * @return the count of distinct values, which is the new length of array
+     */
+    public static int distinct(int[] sourceArray) {
+        if (sourceArray == null) {
+            return 0;
+        }
+        LongHashSet values = new LongHashSet(sourceArray.length);
+        int size = 0;
+        for (int value : sourceArray) {
+            if (values.add(value)) {
+                sourceArray[size++] = value;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * remove duplicate values in array, keep the first occurrence and the order.
+     * the distinct values are moved to the front of array, the rest of array is unspecified.
+     *
+     * @param sourceArray
+     * @return the count of distinct values, which is the new length of array
+     */
+    public static int distinct(short[] sourceArray) {
+        if (sourceArray == null) {
+            return 0;
+        }
+        LongHashSet values = new LongHashSet(Math.min(sourceArray.length, 1 << Short.SIZE));
+        int size = 0;
+        for (short value : sourceArray) {
+            if (values.add(value)) {
+                sourceArray[size++] = value;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * remove duplicate values in array, keep the first occurrence and the order.
+     * the distinct values are moved to the front of array, the rest of array is unspecified.
+     *
+     * @param sourceArray
+     * @return the count of distinct values, which is the new length of array
+     */
+    public static int distinct(byte[] sourceArray) {
+        if (sourceArray == null) {
+            return 0;
+        }
+        LongHashSet values = new LongHashSet(Math.min(sourceArray.length, 1 << Byte.SIZE));
+        int size = 0;
+        for (byte value : sourceArray) {
+            if (values.add(value)) {
+                sourceArray[size++] = value;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * remove duplicate values in array, keep the first occurrence and the order.
+     * the distinct values are moved to the front of array, the rest of array is unspecified.
+     *
+     * @param sourceArray
+     * @return the count of distinct values, which is the new length of array
+     */
+    public static int distinct(char[] sourceArray) {
+        if (sourceArray == null) {
+            return 0;
+        }
+        LongHashSet values = new LongHashSet(Math.min(sourceArray.length, 1 << Character.SIZE));
+        int size = 0;
+        for (char value : sourceArray) {
+            if (values.add(value)) {
+                sourceArray[size++] = value;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * remove duplicate values in array, keep the first occurrence and the order.
+     * the distinct values are moved to the front of array, the rest of array is unspecified.
+     * <p/>
+     * the values are compared like {@link Float#equals(Object)}: NaN equals to NaN, 0.0 not equals to -0.0.
+     *
+     * @param sourceArray
+     * @return the count of distinct values, which is the new length of array
+     */
+    public static int distinct(float[] sourceArray) {
+        if (sourceArray == null) {
+            return 0;
+        }
+        LongHashSet values = new LongHashSet(sourceArray.length);
+        int size = 0;
+        for (float value : sourceArray) {
+            if (values.add(Float.floatToIntBits(value))) {
+                sourceArray[size++] = value;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * remove duplicate values in array, keep the first occurrence and the order.
+     * the distinct values are moved to the front of array, the rest of array is unspecified.
+     * <p/>
+     * the values are compared like {@link Double#equals(Object)}: NaN equals to NaN, 0.0 not equals to -0.0.
+     *
+     * @param sourceArray
+     * @return the count of distinct values, which is the new length of array
+     */
+    public static int distinct(double[] sourceArray) {
+        if (sourceArray == null) {
+            return 0;
+        }
+        LongHashSet values = new LongHashSet(sourceArray.length);
+        int size = 0;
+        for (double value : sourceArray) {
+            if (values.add(Double.doubleToLongBits(value))) {
+                sourceArray[size++] = value;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * remove duplicate values in array, keep the first occurrence and the order.
+     * the distinct values are moved to the front of array, the rest of array is unspecified.
+     *
+     * @param sourceArray
+     * @return the count of distinct values, which is the new length of array
+     */
+    public static int distinct(boolean[] sourceArray) {
+        if (sourceArray == null || sourceArray.length == 0) {
+            return 0;
+        }
+        for (int i = 1; i < sourceArray.length; i++) {
+            if (sourceArray[i] != sourceArray[0]) {
+                sourceArray[1] = sourceArray[i];
+                return 2;
+            }
+        }
+        return 1;
     }
 }
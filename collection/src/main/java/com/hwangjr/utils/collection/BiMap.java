@@ -0,0 +1,395 @@
+package com.hwangjr.utils.collection;
+
+import com.hwangjr.utils.basic.ObjectHelper;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bidirectional map, the values are unique as well as the keys, so the key of a value is got in O(1) by
+ * {@link #getKey(Object)}, instead of scanning the entries like {@link MapHelper#getKeyByValue(Map, Object)}.
+ * <ul>
+ * <li>the forward and inverse indexes are kept consistent by all the modifications, including the views.</li>
+ * <li>{@link #put(Object, Object)} throws {@link IllegalArgumentException} if the value is already bound to another
+ * key, use {@link #forcePut(Object, Object)} to replace the binding.</li>
+ * <li>{@link #inverse()} is the view from value to key, backed by this map.</li>
+ * <li>the map created by constructor iterates in insertion order and permits null, it is not thread safe.</li>
+ * <li>the map created by {@link #createConcurrent()} is thread safe: the lookups are lock free, the modifications are
+ * serialized, it iterates in no particular order and does not permit null, the lookup of null returns null.</li>
+ * <li>the lookups of the concurrent map may run during a modification, each lookup is consistent on its own: a binding
+ * is added to the value to key index before the key to value index and removed in the reverse order, so a value is
+ * never bound to two keys, and once {@link #get(Object)} returns the value of a key, {@link #getKey(Object)} of the
+ * value returns the key until the binding is modified again. {@link #getKey(Object)} may return the key of a binding
+ * which is being added or replaced, and a sequence of lookups is not atomic.</li>
+ * </ul>
+ *
+ * @param <K> type of key
+ * @param <V> type of value
+ */
+public class BiMap<K, V> extends AbstractMap<K, V> {
+    private final Map<K, V> forward;
+    private final Map<V, K> backward;
+
+    /**
+     * lock of the modifications, null if not concurrent
+     */
+    private final Object lock;
+    private final BiMap<V, K> inverse;
+
+    /**
+     * whether this is the view created by {@link #inverse()}, whose forward map is the backward map of the owner
+     */
+    private final boolean inverseView;
+    private Set<Entry<K, V>> entrySet;
+
+    public BiMap() {
+        this(new LinkedHashMap<K, V>(), new LinkedHashMap<V, K>(), null);
+    }
+
+    /**
+     * create the map with the entries of the given map.
+     *
+     * @throws IllegalArgumentException if there are duplicate values in map
+     */
+    public BiMap(Map<? extends K, ? extends V> map) {
+        this();
+        putAll(map);
+    }
+
+    private BiMap(Map<K, V> forward, Map<V, K> backward, Object lock) {
+        this.forward = forward;
+        this.backward = backward;
+        this.lock = lock;
+        this.inverse = new BiMap<>(this);
+        this.inverseView = false;
+    }
+
+    /**
+     * create the inverse view.
+     */
+    private BiMap(BiMap<V, K> inverse) {
+        this.forward = inverse.backward;
+        this.backward = inverse.forward;
+        this.lock = inverse.lock;
+        this.inverse = inverse;
+        this.inverseView = true;
+    }
+
+    /**
+     * create the thread safe map.
+     */
+    public static <K, V> BiMap<K, V> createConcurrent() {
+        Object lock = new Object();
+        return new BiMap<>(new ConcurrentHashMap<K, V>(), new ConcurrentHashMap<V, K>(), lock);
+    }
+
+    /**
+     * create the thread safe map with the entries of the given map.
+     *
+     * @throws IllegalArgumentException if there are duplicate values in map
+     */
+    public static <K, V> BiMap<K, V> createConcurrent(Map<? extends K, ? extends V> map) {
+        BiMap<K, V> biMap = createConcurrent();
+        biMap.putAll(map);
+        return biMap;
+    }
+
+    /**
+     * whether the map is created by {@link #createConcurrent()}.
+     */
+    public boolean isConcurrent() {
+        return lock != null;
+    }
+
+    /**
+     * the view from value to key, backed by this map.
+     */
+    public BiMap<V, K> inverse() {
+        return inverse;
+    }
+
+    /**
+     * get the key of value.
+     *
+     * @return null if value is not exist
+     */
+    public K getKey(Object value) {
+        return value == null && lock != null ? null : backward.get(value);
+    }
+
+    @Override
+    public V get(Object key) {
+        return key == null && lock != null ? null : forward.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return (key != null || lock == null) && forward.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return (value != null || lock == null) && backward.containsKey(value);
+    }
+
+    @Override
+    public int size() {
+        return forward.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return forward.isEmpty();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value is already bound to another key
+     */
+    @Override
+    public V put(K key, V value) {
+        if (lock == null) {
+            return doPut(key, value, false);
+        }
+        synchronized (lock) {
+            return doPut(key, value, false);
+        }
+    }
+
+    /**
+     * put the key and value, the entry of the value and another key is removed.
+     */
+    public V forcePut(K key, V value) {
+        if (lock == null) {
+            return doPut(key, value, true);
+        }
+        synchronized (lock) {
+            return doPut(key, value, true);
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (lock == null) {
+            return doRemove(key);
+        } else if (key == null) {
+            return null;
+        }
+        synchronized (lock) {
+            return doRemove(key);
+        }
+    }
+
+    /**
+     * remove the entry of value.
+     *
+     * @return the key of value, null if value is not exist
+     */
+    public K removeValue(Object value) {
+        return inverse.remove(value);
+    }
+
+    @Override
+    public void clear() {
+        if (lock == null) {
+            forward.clear();
+            backward.clear();
+            return;
+        }
+        synchronized (lock) {
+            if (inverseView) {
+                inverse.clear();
+            } else {
+                forward.clear();
+                backward.clear();
+            }
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> entrySet = this.entrySet;
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+            this.entrySet = entrySet;
+        }
+        return entrySet;
+    }
+
+    private V doPut(K key, V value, boolean force) {
+        boolean keyExists = forward.containsKey(key);
+        V old = forward.get(key);
+        if (keyExists && ObjectHelper.isEquals(old, value)) {
+            return old;
+        }
+        if (!force && backward.containsKey(value)) {
+            throw new IllegalArgumentException("value already bound to another key: " + value);
+        }
+        if (inverseView) {
+            inverse.bind(value, key);
+        } else {
+            bind(key, value);
+        }
+        return old;
+    }
+
+    private V doRemove(Object key) {
+        if (!forward.containsKey(key)) {
+            return null;
+        }
+        V old = forward.get(key);
+        if (inverseView) {
+            inverse.unbind(old);
+        } else {
+            unbind(key);
+        }
+        return old;
+    }
+
+    /**
+     * bind the key and value of the owner map, the previous bindings of both are removed. the backward map is written
+     * before the forward map and the removals go the other way, so the lookups which run concurrently never see a
+     * binding in the forward map which is absent in the backward map.
+     */
+    private void bind(K key, V value) {
+        boolean keyExists = forward.containsKey(key);
+        V old = forward.get(key);
+        if (backward.containsKey(value)) {
+            forward.remove(backward.get(value));
+            backward.remove(value);
+        }
+        backward.put(value, key);
+        forward.put(key, value);
+        if (keyExists) {
+            backward.remove(old);
+        }
+    }
+
+    /**
+     * remove the binding of the key of the owner map, the forward map first.
+     */
+    private void unbind(Object key) {
+        V old = forward.remove(key);
+        backward.remove(old);
+    }
+
+    /**
+     * entries of forward map, the modifications are applied to backward map.
+     */
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            final Iterator<Entry<K, V>> iterator = forward.entrySet().iterator();
+            return new Iterator<Entry<K, V>>() {
+                private Entry<K, V> current;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    current = iterator.next();
+                    return new BiEntry(current.getKey(), current.getValue());
+                }
+
+                @Override
+                public void remove() {
+                    if (current == null) {
+                        throw new IllegalStateException();
+                    }
+                    if (lock == null) {
+                        iterator.remove();
+                        backward.remove(current.getValue());
+                    } else {
+                        BiMap.this.remove(current.getKey());
+                    }
+                    current = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return forward.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            return containsKey(entry.getKey()) && ObjectHelper.isEquals(get(entry.getKey()), entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            BiMap.this.remove(((Entry<?, ?>) o).getKey());
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            BiMap.this.clear();
+        }
+    }
+
+    /**
+     * entry which writes through {@link #put(Object, Object)}.
+     */
+    private final class BiEntry implements Entry<K, V> {
+        private final K key;
+        private V value;
+
+        BiEntry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            put(key, value);
+            V old = this.value;
+            this.value = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            return ObjectHelper.isEquals(key, entry.getKey()) && ObjectHelper.isEquals(value, entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.hwangjr.utils.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cursor to navigate the elements one by one, like a carousel.
+ * <p/>
+ * The elements are copied when the cursor is created, with a map from element to its first index, so
+ * {@link #getLast(Object)}, {@link #getNext(Object)} and {@link #moveTo(Object)} are O(1) instead of scanning the
+ * elements like {@link ArrayHelper#getNext(Object[], Object, boolean)}.
+ * For primitive array, create the cursor by the list view of {@link com.hwangjr.utils.basic.ObjectHelper#asList(int[])}
+ * and so on.
+ * <p/>
+ * The cursor is not thread safe.
+ *
+ * @param <V>
+ */
+public class CircularCursor<V> {
+    private final List<V> elements;
+    private final Map<V, Integer> indexes;
+    private final boolean isCircle;
+    private int position = -1;
+
+    /**
+     * @param sourceArray
+     * @param isCircle    whether the first one is next to the last one
+     */
+    public CircularCursor(V[] sourceArray, boolean isCircle) {
+        this(sourceArray == null ? null : Arrays.asList(sourceArray), isCircle);
+    }
+
+    /**
+     * @param sourceCollection
+     * @param isCircle         whether the first one is next to the last one
+     */
+    public CircularCursor(Collection<? extends V> sourceCollection, boolean isCircle) {
+        this.elements = sourceCollection == null ? new ArrayList<V>() : new ArrayList<V>(sourceCollection);
+        this.indexes = new HashMap<>(Math.max(16, (int) (elements.size() / .75f) + 1));
+        for (int i = elements.size() - 1; i >= 0; i--) {
+            indexes.put(elements.get(i), i);
+        }
+        this.isCircle = isCircle;
+    }
+
+    public int size() {
+        return elements.size();
+    }
+
+    public boolean isCircle() {
+        return isCircle;
+    }
+
+    /**
+     * index of the first element which equals to value, -1 if not found.
+     */
+    public int indexOf(Object value) {
+        Integer index = indexes.get(value);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * get the element at index.
+     */
+    public V get(int index) {
+        return elements.get(index);
+    }
+
+    /**
+     * get last element of the target element, like {@link ArrayHelper#getLast(Object[], Object, boolean)}.
+     *
+     * @return null if the target element is not found, or it is the first one and not circle
+     */
+    public V getLast(V value) {
+        int index = lastIndex(indexOf(value));
+        return index == -1 ? null : elements.get(index);
+    }
+
+    /**
+     * get next element of the target element, like {@link ArrayHelper#getNext(Object[], Object, boolean)}.
+     *
+     * @return null if the target element is not found, or it is the last one and not circle
+     */
+    public V getNext(V value) {
+        int index = nextIndex(indexOf(value));
+        return index == -1 ? null : elements.get(index);
+    }
+
+    /**
+     * get the element at the cursor, null if the cursor is not moved yet.
+     */
+    public V current() {
+        return position == -1 ? null : elements.get(position);
+    }
+
+    /**
+     * index of the cursor, -1 if the cursor is not moved yet.
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * move the cursor to the first element which equals to value.
+     *
+     * @return false if not found, the cursor is not moved
+     */
+    public boolean moveTo(V value) {
+        int index = indexOf(value);
+        if (index == -1) {
+            return false;
+        }
+        position = index;
+        return true;
+    }
+
+    /**
+     * move the cursor to the last element, the cursor which is not moved yet moves to the last one.
+     *
+     * @return the element at the cursor, null if there is no last element, the cursor is not moved
+     */
+    public V previous() {
+        int index = position == -1 ? elements.size() - 1 : lastIndex(position);
+        if (index == -1) {
+            return null;
+        }
+        position = index;
+        return elements.get(index);
+    }
+
+    /**
+     * move the cursor to the next element, the cursor which is not moved yet moves to the first one.
+     *
+     * @return the element at the cursor, null if there is no next element, the cursor is not moved
+     */
+    public V next() {
+        int index = position == -1 ? (elements.isEmpty() ? -1 : 0) : nextIndex(position);
+        if (index == -1) {
+            return null;
+        }
+        position = index;
+        return elements.get(index);
+    }
+
+    /**
+     * reset the cursor to not moved.
+     */
+    public void reset() {
+        position = -1;
+    }
+
+    private int lastIndex(int index) {
+        if (index == -1) {
+            return -1;
+        }
+        if (index == 0) {
+            return isCircle ? elements.size() - 1 : -1;
+        }
+        return index - 1;
+    }
+
+    private int nextIndex(int index) {
+        if (index == -1) {
+            return -1;
+        }
+        if (index == elements.size() - 1) {
+            return isCircle ? 0 : -1;
+        }
+        return index + 1;
+    }
+}
@@ -1,6 +1,7 @@
 package com.hwangjr.utils.collection;
 
-import android.text.TextUtils;
+import java.io.IOException;
+import java.util.Collection;
 
 public class CollectionHelper {
     /**
@@ -8,6 +9,21 @@ public class CollectionHelper {
      **/
     public static final CharSequence DEFAULT_JOIN_SEPARATOR = ",";
 
+    /**
+     * estimated length of an element to presize builder
+     */
+    private static final int ESTIMATED_ELEMENT_LENGTH = 8;
+
+    /**
+     * max capacity to presize builder, it grows as needed beyond
+     */
+    private static final int MAX_PRESIZE_CAPACITY = 1 << 20;
+
+    /**
+     * size of the buffer to join to an appendable which is not a {@link StringBuilder}, the buffer is written once full
+     */
+    private static final int APPEND_BUFFER_SIZE = 1024;
+
     private CollectionHelper() {
         throw new AssertionError();
     }
@@ -25,7 +41,7 @@ public class CollectionHelper {
      * @return join collection to string, separator is {@link #DEFAULT_JOIN_SEPARATOR}.
      * if collection is empty, return ""
      */
-    public static String join(Iterable collection) {
+    public static String join(Iterable<?> collection) {
         return join(collection, DEFAULT_JOIN_SEPARATOR);
     }
 
@@ -43,7 +59,7 @@ public class CollectionHelper {
      * @param separator
      * @return join list to string. if list is empty, return ""
      */
-    public static String join(Iterable collection, char separator) {
+    public static String join(Iterable<?> collection, char separator) {
         return join(collection, new String(new char[]{separator}));
     }
 
@@ -62,8 +78,873 @@ public class CollectionHelper {
      * @param collection
      * @param separator
      * @return join list to string with separator. if list is empty, return ""
+     * @see #joinTo(StringBuilder, Iterable, CharSequence, IFormatter)
+     */
+    public static String join(Iterable<?> collection, CharSequence separator) {
+        if (collection == null) {
+            return "";
+        }
+        return joinTo(new StringBuilder(), collection, separator, null).toString();
+    }
+
+    /**
+     * join collection to string, each element is written by formatter.
+     *
+     * @param collection
+     * @param separator  if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @param formatter  if null, use {@link StringBuilder#append(Object)}
+     * @return join collection to string. if collection is empty, return ""
+     */
+    public static <T> String join(Iterable<T> collection, CharSequence separator, IFormatter<? super T> formatter) {
+        if (collection == null) {
+            return "";
+        }
+        return joinTo(new StringBuilder(), collection, separator, formatter).toString();
+    }
+
+    /**
+     * join collection to the end of builder, the builder is presized if the size of collection is known.
+     *
+     * @param builder
+     * @param collection nullable
+     * @param separator  if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @param formatter  if null, use {@link StringBuilder#append(Object)}
+     * @return builder
+     */
+    public static <T> StringBuilder joinTo(StringBuilder builder, Iterable<T> collection, CharSequence separator,
+                                           IFormatter<? super T> formatter) {
+        if (collection == null) {
+            return builder;
+        }
+        if (separator == null) {
+            separator = DEFAULT_JOIN_SEPARATOR;
+        }
+        if (collection instanceof Collection) {
+            ensureCapacity(builder, ((Collection<?>) collection).size(), separator);
+        }
+        boolean first = true;
+        for (T element : collection) {
+            if (first) {
+                first = false;
+            } else {
+                builder.append(separator);
+            }
+            if (formatter == null) {
+                builder.append(element);
+            } else {
+                formatter.format(builder, element);
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * join collection to the end of appendable, like: {@link java.io.Writer}.
+     *
+     * @param appendable
+     * @param collection nullable
+     * @param separator  if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @return appendable
+     * @throws IOException
+     * @see #joinTo(Appendable, Iterable, CharSequence, IFormatter)
+     */
+    public static <A extends Appendable> A joinTo(A appendable, Iterable<?> collection, CharSequence separator)
+            throws IOException {
+        return joinTo(appendable, collection, separator, null);
+    }
+
+    /**
+     * join collection to the end of appendable, like: {@link java.io.Writer}. if appendable is not a
+     * {@link StringBuilder}, the elements are written to a buffer, which is appended once full, so there is no
+     * intermediate string of each element.
+     *
+     * @param appendable
+     * @param collection nullable
+     * @param separator  if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @param formatter  if null, use {@link StringBuilder#append(Object)}
+     * @return appendable
+     * @throws IOException
+     */
+    public static <A extends Appendable, T> A joinTo(A appendable, Iterable<T> collection, CharSequence separator,
+                                                     IFormatter<? super T> formatter) throws IOException {
+        if (appendable instanceof StringBuilder) {
+            joinTo((StringBuilder) appendable, collection, separator, formatter);
+            return appendable;
+        }
+        if (collection == null) {
+            return appendable;
+        }
+        if (separator == null) {
+            separator = DEFAULT_JOIN_SEPARATOR;
+        }
+        StringBuilder buffer = new StringBuilder(APPEND_BUFFER_SIZE);
+        boolean first = true;
+        for (T element : collection) {
+            if (first) {
+                first = false;
+            } else {
+                buffer.append(separator);
+            }
+            if (formatter == null) {
+                buffer.append(element);
+            } else {
+                formatter.format(buffer, element);
+            }
+            flushIfFull(appendable, buffer);
+        }
+        appendable.append(buffer);
+        return appendable;
+    }
+
+    /**
+     * join array to string, like {@link #join(Iterable, CharSequence)}, the values are not boxed.
+     *
+     * @param array
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @return join array to string. if array is empty, return ""
+     */
+    public static String join(int[] array, CharSequence separator) {
+        return array == null ? "" : joinTo(new StringBuilder(), array, separator).toString();
+    }
+
+    /**
+     * join array to the end of builder, the values are not boxed.
+     *
+     * @param builder
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @return builder
+     */
+    public static StringBuilder joinTo(StringBuilder builder, int[] array, CharSequence separator) {
+        return joinTo(builder, array, separator, null);
+    }
+
+    /**
+     * join array to the end of builder, each value is written by formatter without boxing.
+     *
+     * @param builder
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @param formatter if null, use {@link StringBuilder#append(int)}
+     * @return builder
+     */
+    public static StringBuilder joinTo(StringBuilder builder, int[] array, CharSequence separator, ILongFormatter formatter) {
+        if (array == null) {
+            return builder;
+        }
+        if (separator == null) {
+            separator = DEFAULT_JOIN_SEPARATOR;
+        }
+        ensureCapacity(builder, array.length, separator);
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                builder.append(separator);
+            }
+            if (formatter == null) {
+                builder.append(array[i]);
+            } else {
+                formatter.format(builder, array[i]);
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * join array to the end of appendable, like: {@link java.io.Writer}, each value is written by formatter without boxing. if appendable is not a
+     * {@link StringBuilder}, the values are written to a buffer, which is appended once full.
+     *
+     * @param appendable
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @param formatter if null, use {@link StringBuilder#append(int)}
+     * @return appendable
+     * @throws IOException
+     */
+    public static <A extends Appendable> A joinTo(A appendable, int[] array, CharSequence separator, ILongFormatter formatter)
+            throws IOException {
+        if (appendable instanceof StringBuilder) {
+            joinTo((StringBuilder) appendable, array, separator, formatter);
+            return appendable;
+        }
+        if (array == null) {
+            return appendable;
+        }
+        if (separator == null) {
+            separator = DEFAULT_JOIN_SEPARATOR;
+        }
+        StringBuilder buffer = new StringBuilder(APPEND_BUFFER_SIZE);
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                buffer.append(separator);
+            }
+            if (formatter == null) {
+                buffer.append(array[i]);
+            } else {
+                formatter.format(buffer, array[i]);
+            }
+            flushIfFull(appendable, buffer);
+        }
+        appendable.append(buffer);
+        return appendable;
+    }
+
+    /**
+     * join array to string, like {@link #join(Iterable, CharSequence)}, the values are not boxed.
+     *
+     * @param array
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @return join array to string. if array is empty, return ""
+     */
+    public static String join(long[] array, CharSequence separator) {
+        return array == null ? "" : joinTo(new StringBuilder(), array, separator).toString();
+    }
+
+    /**
+     * join array to the end of builder, the values are not boxed.
+     *
+     * @param builder
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @return builder
+     */
+    public static StringBuilder joinTo(StringBuilder builder, long[] array, CharSequence separator) {
+        return joinTo(builder, array, separator, null);
+    }
+
+    /**
+     * join array to the end of builder, each value is written by formatter without boxing.
+     *
+     * @param builder
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @param formatter if null, use {@link StringBuilder#append(long)}
+     * @return builder
+     */
+    public static StringBuilder joinTo(StringBuilder builder, long[] array, CharSequence separator, ILongFormatter formatter) {
+        if (array == null) {
+            return builder;
+        }
+        if (separator == null) {
+            separator = DEFAULT_JOIN_SEPARATOR;
+        }
+        ensureCapacity(builder, array.length, separator);
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                builder.append(separator);
+            }
+            if (formatter == null) {
+                builder.append(array[i]);
+            } else {
+                formatter.format(builder, array[i]);
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * join array to the end of appendable, like: {@link java.io.Writer}, each value is written by formatter without boxing. if appendable is not a
+     * {@link StringBuilder}, the values are written to a buffer, which is appended once full.
+     *
+     * @param appendable
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @param formatter if null, use {@link StringBuilder#append(long)}
+     * @return appendable
+     * @throws IOException
+     */
+    public static <A extends Appendable> A joinTo(A appendable, long[] array, CharSequence separator, ILongFormatter formatter)
+            throws IOException {
+        if (appendable instanceof StringBuilder) {
+            joinTo((StringBuilder) appendable, array, separator, formatter);
+            return appendable;
+        }
+        if (array == null) {
+            return appendable;
+        }
+        if (separator == null) {
+            separator = DEFAULT_JOIN_SEPARATOR;
+        }
+        StringBuilder buffer = new StringBuilder(APPEND_BUFFER_SIZE);
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                buffer.append(separator);
+            }
+            if (formatter == null) {
+                buffer.append(array[i]);
+            } else {
+                formatter.format(buffer, array[i]);
+            }
+            flushIfFull(appendable, buffer);
+        }
+        appendable.append(buffer);
+        return appendable;
+    }
+
+    /**
+     * join array to string, like {@link #join(Iterable, CharSequence)}, the values are not boxed.
+     *
+     * @param array
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @return join array to string. if array is empty, return ""
+     */
+    public static String join(short[] array, CharSequence separator) {
+        return array == null ? "" : joinTo(new StringBuilder(), array, separator).toString();
+    }
+
+    /**
+     * join array to the end of builder, the values are not boxed.
+     *
+     * @param builder
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @return builder
+     */
+    public static StringBuilder joinTo(StringBuilder builder, short[] array, CharSequence separator) {
+        return joinTo(builder, array, separator, null);
+    }
+
+    /**
+     * join array to the end of builder, each value is written by formatter without boxing.
+     *
+     * @param builder
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @param formatter if null, use {@link StringBuilder#append(int)}
+     * @return builder
+     */
+    public static StringBuilder joinTo(StringBuilder builder, short[] array, CharSequence separator, ILongFormatter formatter) {
+        if (array == null) {
+            return builder;
+        }
+        if (separator == null) {
+            separator = DEFAULT_JOIN_SEPARATOR;
+        }
+        ensureCapacity(builder, array.length, separator);
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                builder.append(separator);
+            }
+            if (formatter == null) {
+                builder.append(array[i]);
+            } else {
+                formatter.format(builder, array[i]);
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * join array to the end of appendable, like: {@link java.io.Writer}, each value is written by formatter without boxing. if appendable is not a
+     * {@link StringBuilder}, the values are written to a buffer, which is appended once full.
+     *
+     * @param appendable
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @param formatter if null, use {@link StringBuilder#append(int)}
+     * @return appendable
+     * @throws IOException
+     */
+    public static <A extends Appendable> A joinTo(A appendable, short[] array, CharSequence separator, ILongFormatter formatter)
+            throws IOException {
+        if (appendable instanceof StringBuilder) {
+            joinTo((StringBuilder) appendable, array, separator, formatter);
+            return appendable;
+        }
+        if (array == null) {
+            return appendable;
+        }
+        if (separator == null) {
+            separator = DEFAULT_JOIN_SEPARATOR;
+        }
+        StringBuilder buffer = new StringBuilder(APPEND_BUFFER_SIZE);
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                buffer.append(separator);
+            }
+            if (formatter == null) {
+                buffer.append(array[i]);
+            } else {
+                formatter.format(buffer, array[i]);
+            }
+            flushIfFull(appendable, buffer);
+        }
+        appendable.append(buffer);
+        return appendable;
+    }
+
+    /**
+     * join array to string, like {@link #join(Iterable, CharSequence)}, the values are not boxed.
+     *
+     * @param array
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @return join array to string. if array is empty, return ""
+     */
+    public static String join(byte[] array, CharSequence separator) {
+        return array == null ? "" : joinTo(new StringBuilder(), array, separator).toString();
+    }
+
+    /**
+     * join array to the end of builder, the values are not boxed.
+     *
+     * @param builder
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @return builder
+     */
+    public static StringBuilder joinTo(StringBuilder builder, byte[] array, CharSequence separator) {
+        return joinTo(builder, array, separator, null);
+    }
+
+    /**
+     * join array to the end of builder, each value is written by formatter without boxing.
+     *
+     * @param builder
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @param formatter if null, use {@link StringBuilder#append(int)}
+     * @return builder
+     */
+    public static StringBuilder joinTo(StringBuilder builder, byte[] array, CharSequence separator, ILongFormatter formatter) {
+        if (array == null) {
+            return builder;
+        }
+        if (separator == null) {
+            separator = DEFAULT_JOIN_SEPARATOR;
+        }
+        ensureCapacity(builder, array.length, separator);
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                builder.append(separator);
+            }
+            if (formatter == null) {
+                builder.append(array[i]);
+            } else {
+                formatter.format(builder, array[i]);
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * join array to the end of appendable, like: {@link java.io.Writer}, each value is written by formatter without boxing. if appendable is not a
+     * {@link StringBuilder}, the values are written to a buffer, which is appended once full.
+     *
+     * @param appendable
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @param formatter if null, use {@link StringBuilder#append(int)}
+     * @return appendable
+     * @throws IOException
+     */
+    public static <A extends Appendable> A joinTo(A appendable, byte[] array, CharSequence separator, ILongFormatter formatter)
+            throws IOException {
+        if (appendable instanceof StringBuilder) {
+            joinTo((StringBuilder) appendable, array, separator, formatter);
+            return appendable;
+        }
+        if (array == null) {
+            return appendable;
+        }
+        if (separator == null) {
+            separator = DEFAULT_JOIN_SEPARATOR;
+        }
+        StringBuilder buffer = new StringBuilder(APPEND_BUFFER_SIZE);
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                buffer.append(separator);
+            }
+            if (formatter == null) {
+                buffer.append(array[i]);
+            } else {
+                formatter.format(buffer, array[i]);
+            }
+            flushIfFull(appendable, buffer);
+        }
+        appendable.append(buffer);
+        return appendable;
+    }
+
+    /**
+     * join array to string, like {@link #join(Iterable, CharSequence)}, the values are not boxed.
+     *
+     * @param array
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @return join array to string. if array is empty, return ""
+     */
+    public static String join(float[] array, CharSequence separator) {
+        return array == null ? "" : joinTo(new StringBuilder(), array, separator).toString();
+    }
+
+    /**
+     * join array to the end of builder, the values are not boxed.
+     *
+     * @param builder
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @return builder
+     */
+    public static StringBuilder joinTo(StringBuilder builder, float[] array, CharSequence separator) {
+        return joinTo(builder, array, separator, null);
+    }
+
+    /**
+     * join array to the end of builder, each value is written by formatter without boxing.
+     *
+     * @param builder
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @param formatter if null, use {@link StringBuilder#append(float)}
+     * @return builder
+     */
+    public static StringBuilder joinTo(StringBuilder builder, float[] array, CharSequence separator, IFloatFormatter formatter) {
+        if (array == null) {
+            return builder;
+        }
+        if (separator == null) {
+            separator = DEFAULT_JOIN_SEPARATOR;
+        }
+        ensureCapacity(builder, array.length, separator);
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                builder.append(separator);
+            }
+            if (formatter == null) {
+                builder.append(array[i]);
+            } else {
+                formatter.format(builder, array[i]);
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * join array to the end of appendable, like: {@link java.io.Writer}, each value is written by formatter without boxing. if appendable is not a
+     * {@link StringBuilder}, the values are written to a buffer, which is appended once full.
+     *
+     * @param appendable
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @param formatter if null, use {@link StringBuilder#append(float)}
+     * @return appendable
+     * @throws IOException
+     */
+    public static <A extends Appendable> A joinTo(A appendable, float[] array, CharSequence separator, IFloatFormatter formatter)
+            throws IOException {
+        if (appendable instanceof StringBuilder) {
+            joinTo((StringBuilder) appendable, array, separator, formatter);
+            return appendable;
+        }
+        if (array == null) {
+            return appendable;
+        }
+        if (separator == null) {
+            separator = DEFAULT_JOIN_SEPARATOR;
+        }
+        StringBuilder buffer = new StringBuilder(APPEND_BUFFER_SIZE);
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                buffer.append(separator);
+            }
+            if (formatter == null) {
+                buffer.append(array[i]);
+            } else {
+                formatter.format(buffer, array[i]);
+            }
+            flushIfFull(appendable, buffer);
+        }
+        appendable.append(buffer);
+        return appendable;
+    }
+
+    /**
+     * join array to string, like {@link #join(Iterable, CharSequence)}, the values are not boxed.
+     *
+     * @param array
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @return join array to string. if array is empty, return ""
+     */
+    public static String join(double[] array, CharSequence separator) {
+        return array == null ? "" : joinTo(new StringBuilder(), array, separator).toString();
+    }
+
+    /**
+     * join array to the end of builder, the values are not boxed.
+     *
+     * @param builder
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @return builder
+     */
+    public static StringBuilder joinTo(StringBuilder builder, double[] array, CharSequence separator) {
+        return joinTo(builder, array, separator, null);
+    }
+
+    /**
+     * join array to the end of builder, each value is written by formatter without boxing.
+     *
+     * @param builder
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @param formatter if null, use {@link StringBuilder#append(double)}
+     * @return builder
+     */
+    public static StringBuilder joinTo(StringBuilder builder, double[] array, CharSequence separator, IDoubleFormatter formatter) {
+        if (array == null) {
+            return builder;
+        }
+        if (separator == null) {
+            separator = DEFAULT_JOIN_SEPARATOR;
+        }
+        ensureCapacity(builder, array.length, separator);
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                builder.append(separator);
+            }
+            if (formatter == null) {
+                builder.append(array[i]);
+            } else {
+                formatter.format(builder, array[i]);
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * join array to the end of appendable, like: {@link java.io.Writer}, each value is written by formatter without boxing. if appendable is not a
+     * {@link StringBuilder}, the values are written to a buffer, which is appended once full.
+     *
+     * @param appendable
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @param formatter if null, use {@link StringBuilder#append(double)}
+     * @return appendable
+     * @throws IOException
+     */
+    public static <A extends Appendable> A joinTo(A appendable, double[] array, CharSequence separator, IDoubleFormatter formatter)
+            throws IOException {
+        if (appendable instanceof StringBuilder) {
+            joinTo((StringBuilder) appendable, array, separator, formatter);
+            return appendable;
+        }
+        if (array == null) {
+            return appendable;
+        }
+        if (separator == null) {
+            separator = DEFAULT_JOIN_SEPARATOR;
+        }
+        StringBuilder buffer = new StringBuilder(APPEND_BUFFER_SIZE);
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                buffer.append(separator);
+            }
+            if (formatter == null) {
+                buffer.append(array[i]);
+            } else {
+                formatter.format(buffer, array[i]);
+            }
+            flushIfFull(appendable, buffer);
+        }
+        appendable.append(buffer);
+        return appendable;
+    }
+
+    /**
+     * join array to string, like {@link #join(Iterable, CharSequence)}, the values are not boxed.
+     *
+     * @param array
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @return join array to string. if array is empty, return ""
+     */
+    public static String join(char[] array, CharSequence separator) {
+        return array == null ? "" : joinTo(new StringBuilder(), array, separator).toString();
+    }
+
+    /**
+     * join array to the end of builder, the values are not boxed.
+     *
+     * @param builder
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @return builder
+     */
+    public static StringBuilder joinTo(StringBuilder builder, char[] array, CharSequence separator) {
+        if (array == null) {
+            return builder;
+        }
+        if (separator == null) {
+            separator = DEFAULT_JOIN_SEPARATOR;
+        }
+        ensureCapacity(builder, array.length, separator);
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                builder.append(separator);
+            }
+            builder.append(array[i]);
+        }
+        return builder;
+    }
+
+    /**
+     * join array to the end of appendable, like: {@link java.io.Writer}, the values are not boxed. if appendable is not a
+     * {@link StringBuilder}, the values are written to a buffer, which is appended once full.
+     *
+     * @param appendable
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @return appendable
+     * @throws IOException
+     */
+    public static <A extends Appendable> A joinTo(A appendable, char[] array, CharSequence separator)
+            throws IOException {
+        if (appendable instanceof StringBuilder) {
+            joinTo((StringBuilder) appendable, array, separator);
+            return appendable;
+        }
+        if (array == null) {
+            return appendable;
+        }
+        if (separator == null) {
+            separator = DEFAULT_JOIN_SEPARATOR;
+        }
+        StringBuilder buffer = new StringBuilder(APPEND_BUFFER_SIZE);
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                buffer.append(separator);
+            }
+            buffer.append(array[i]);
+            flushIfFull(appendable, buffer);
+        }
+        appendable.append(buffer);
+        return appendable;
+    }
+
+    /**
+     * join array to string, like {@link #join(Iterable, CharSequence)}, the values are not boxed.
+     *
+     * @param array
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @return join array to string. if array is empty, return ""
+     */
+    public static String join(boolean[] array, CharSequence separator) {
+        return array == null ? "" : joinTo(new StringBuilder(), array, separator).toString();
+    }
+
+    /**
+     * join array to the end of builder, the values are not boxed.
+     *
+     * @param builder
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @return builder
+     */
+    public static StringBuilder joinTo(StringBuilder builder, boolean[] array, CharSequence separator) {
+        if (array == null) {
+            return builder;
+        }
+        if (separator == null) {
+            separator = DEFAULT_JOIN_SEPARATOR;
+        }
+        ensureCapacity(builder, array.length, separator);
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                builder.append(separator);
+            }
+            builder.append(array[i]);
+        }
+        return builder;
+    }
+
+    /**
+     * join array to the end of appendable, like: {@link java.io.Writer}, the values are not boxed. if appendable is not a
+     * {@link StringBuilder}, the values are written to a buffer, which is appended once full.
+     *
+     * @param appendable
+     * @param array     nullable
+     * @param separator if null, use {@link #DEFAULT_JOIN_SEPARATOR}
+     * @return appendable
+     * @throws IOException
+     */
+    public static <A extends Appendable> A joinTo(A appendable, boolean[] array, CharSequence separator)
+            throws IOException {
+        if (appendable instanceof StringBuilder) {
+            joinTo((StringBuilder) appendable, array, separator);
+            return appendable;
+        }
+        if (array == null) {
+            return appendable;
+        }
+        if (separator == null) {
+            separator = DEFAULT_JOIN_SEPARATOR;
+        }
+        StringBuilder buffer = new StringBuilder(APPEND_BUFFER_SIZE);
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                buffer.append(separator);
+            }
+            buffer.append(array[i]);
+            flushIfFull(appendable, buffer);
+        }
+        appendable.append(buffer);
+        return appendable;
+    }
+
+    /**
+     * append buffer to appendable and reset it if it is full.
+     */
+    private static void flushIfFull(Appendable appendable, StringBuilder buffer) throws IOException {
+        if (buffer.length() >= APPEND_BUFFER_SIZE) {
+            appendable.append(buffer);
+            buffer.setLength(0);
+        }
+    }
+
+    /**
+     * presize builder for count elements.
+     */
+    private static void ensureCapacity(StringBuilder builder, int count, CharSequence separator) {
+        if (count > 0) {
+            long capacity = builder.length() + (long) count * (ESTIMATED_ELEMENT_LENGTH + separator.length());
+            builder.ensureCapacity((int) Math.min(capacity, MAX_PRESIZE_CAPACITY));
+        }
+    }
+
+    /**
+     * Write an element to builder, without creating the intermediate string.
+     *
+     * @param <T>
+     */
+    public interface IFormatter<T> {
+        void format(StringBuilder builder, T element);
+    }
+
+    /**
+     * Write an integral value to builder, without boxing.
+     */
+    public interface ILongFormatter {
+        void format(StringBuilder builder, long value);
+    }
+
+    /**
+     * Write a float value to builder, without boxing or widening to double.
+     */
+    public interface IFloatFormatter {
+        void format(StringBuilder builder, float value);
+    }
+
+    /**
+     * Write a floating point value to builder, without boxing.
+     */
+    public interface IDoubleFormatter {
+        void format(StringBuilder builder, double value);
+    }
+
+    /**
+     * Extract the key of a value, like: the id of a bean.
+     *
+     * @param <V> type of value
+     * @param <K> type of key
      */
-    public static String join(Iterable collection, CharSequence separator) {
-        return collection == null ? "" : TextUtils.join(separator, collection);
+    public interface IKeyExtractor<V, K> {
+        K getKey(V value);
     }
 }
@@ -4,9 +4,48 @@ import com.hwangjr.utils.basic.ObjectHelper;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 public class CollectionPicker {
+    /**
+     * default min size of collection to pick in parallel
+     */
+    public static final int PARALLEL_THRESHOLD = 8192;
+
+    /**
+     * strategy of {@link IPicker}
+     */
+    private static final IPickerStrategy<IPicker<Object>, IPicker<Object>> PICKER_STRATEGY =
+            new IPickerStrategy<IPicker<Object>, IPicker<Object>>() {
+                @Override
+                public boolean isPicked(IPicker<Object> expect, IPicker<Object> target) {
+                    return target.isPicked(expect);
+                }
+            };
+
+    /**
+     * strategy to pick all the elements
+     */
+    private static final IPickerStrategy<Object, Object> PICK_ALL = new IPickerStrategy<Object, Object>() {
+        @Override
+        public boolean isPicked(Object expect, Object target) {
+            return true;
+        }
+    };
+
+    /**
+     * order of {@link ObjectHelper#compare(Object, Object)}
+     */
+    private static final Comparator<Object> NATURAL_ORDER = new Comparator<Object>() {
+        @Override
+        public int compare(Object lhs, Object rhs) {
+            return ObjectHelper.compare(lhs, rhs);
+        }
+    };
 
     private CollectionPicker() {
         throw new AssertionError();
@@ -124,6 +163,403 @@ public class CollectionPicker {
         return picked;
     }
 
+    /**
+     * get at most limit elements from collection if {@link IPickerStrategy#isPicked(Object, Object)} return true,
+     * the rest of collection is not scanned once limit elements are picked.
+     *
+     * @param expect
+     * @param collection
+     * @param strategy
+     * @param limit      max count of the picked elements
+     * @return
+     */
+    public static <E, T> List<T> pick(E expect, Collection<T> collection, IPickerStrategy<E, T> strategy, int limit) {
+        if (null == expect || ObjectHelper.isEmpty(collection)) {
+            return null;
+        }
+        if (null == strategy) {
+            return null;
+        }
+        List<T> picked = new ArrayList<>(Math.min(Math.max(limit, 0), collection.size()));
+        pickInto(expect, collection, strategy, picked, limit);
+        return picked;
+    }
+
+    /**
+     * add the elements from collection to target if {@link IPickerStrategy#isPicked(Object, Object)} return true.
+     *
+     * @see #pickInto(Object, Iterable, IPickerStrategy, Collection, int)
+     */
+    public static <E, T> int pickInto(E expect, Iterable<T> collection, IPickerStrategy<E, T> strategy,
+                                      Collection<? super T> target) {
+        return pickInto(expect, collection, strategy, target, Integer.MAX_VALUE);
+    }
+
+    /**
+     * add at most limit elements from collection to target if {@link IPickerStrategy#isPicked(Object, Object)}
+     * return true. the target is owned by caller, it can be cleared and reused to avoid creating list for each pick.
+     * the rest of collection is not scanned once limit elements are picked.
+     *
+     * @param expect
+     * @param collection
+     * @param strategy
+     * @param target     the collection to add the picked elements
+     * @param limit      max count of the picked elements
+     * @return the count of the picked elements, 0 if expect, collection or strategy is null
+     */
+    public static <E, T> int pickInto(E expect, Iterable<T> collection, IPickerStrategy<E, T> strategy,
+                                      Collection<? super T> target, int limit) {
+        if (null == expect || null == collection || null == strategy || limit <= 0) {
+            return 0;
+        }
+        int count = 0;
+        for (T t : collection) {
+            if (strategy.isPicked(expect, t)) {
+                target.add(t);
+                if (++count == limit) {
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * get the lazy elements from collection if {@link IPickerStrategy#isPicked(Object, Object)} return true.
+     *
+     * @see #pickLazily(Object, Iterable, IPickerStrategy, int)
+     */
+    public static <E, T> Iterable<T> pickLazily(E expect, Iterable<T> collection, IPickerStrategy<E, T> strategy) {
+        return pickLazily(expect, collection, strategy, Integer.MAX_VALUE);
+    }
+
+    /**
+     * get at most limit lazy elements from collection if {@link IPickerStrategy#isPicked(Object, Object)} return
+     * true. the collection is scanned only when the iterator is advanced, no list is created.
+     * each call of {@link Iterable#iterator()} scans the collection again.
+     *
+     * @param expect
+     * @param collection
+     * @param strategy
+     * @param limit      max count of the picked elements
+     * @return empty if expect, collection or strategy is null
+     */
+    public static <E, T> Iterable<T> pickLazily(final E expect, final Iterable<T> collection,
+                                                final IPickerStrategy<E, T> strategy, final int limit) {
+        return new Iterable<T>() {
+            @Override
+            public Iterator<T> iterator() {
+                return pickIterator(expect, collection, strategy, limit);
+            }
+        };
+    }
+
+    /**
+     * get the iterator of the lazy elements from collection if {@link IPickerStrategy#isPicked(Object, Object)}
+     * return true.
+     *
+     * @see #pickIterator(Object, Iterable, IPickerStrategy, int)
+     */
+    public static <E, T> Iterator<T> pickIterator(E expect, Iterable<T> collection, IPickerStrategy<E, T> strategy) {
+        return pickIterator(expect, collection, strategy, Integer.MAX_VALUE);
+    }
+
+    /**
+     * get the iterator of at most limit lazy elements from collection if
+     * {@link IPickerStrategy#isPicked(Object, Object)} return true.
+     * {@link Iterator#remove()} removes the element from collection, if it is called before {@link Iterator#hasNext()}.
+     *
+     * @param expect
+     * @param collection
+     * @param strategy
+     * @param limit      max count of the picked elements
+     * @return empty if expect, collection or strategy is null
+     */
+    public static <E, T> Iterator<T> pickIterator(E expect, Iterable<T> collection, IPickerStrategy<E, T> strategy,
+                                                  int limit) {
+        if (null == expect || null == collection || null == strategy || limit <= 0) {
+            return Collections.<T>emptyList().iterator();
+        }
+        return new PickIterator<>(expect, collection.iterator(), strategy, limit);
+    }
+
+    /**
+     * get the first element from collection if {@link IPicker#isPicked(Object)} return true, in parallel if the size
+     * of collection is not less than {@link #PARALLEL_THRESHOLD}.
+     *
+     * @see #pickFirstParallel(Object, Collection, IPickerStrategy, int)
+     */
+    public static <T extends IPicker<T>> T pickFirstParallel(T expect, Collection<T> collection) {
+        return pickFirstParallel(expect, collection, CollectionPicker.<T>pickerStrategy(), PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * get the elements from collection if {@link IPicker#isPicked(Object)} return true, in parallel if the size
+     * of collection is not less than {@link #PARALLEL_THRESHOLD}.
+     *
+     * @see #pickParallel(Object, Collection, IPickerStrategy, int)
+     */
+    public static <T extends IPicker<T>> List<T> pickParallel(T expect, Collection<T> collection) {
+        return pickParallel(expect, collection, CollectionPicker.<T>pickerStrategy(), PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * get the first element from collection if {@link IPickerStrategy#isPicked(Object, Object)} return true, in
+     * parallel if the size of collection is not less than {@link #PARALLEL_THRESHOLD}.
+     *
+     * @see #pickFirstParallel(Object, Collection, IPickerStrategy, int)
+     */
+    public static <E, T> T pickFirstParallel(E expect, Collection<T> collection, IPickerStrategy<E, T> strategy) {
+        return pickFirstParallel(expect, collection, strategy, PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * get the first element from collection if {@link IPickerStrategy#isPicked(Object, Object)} return true.
+     * <p/>
+     * if the size of collection is not less than threshold, the elements are picked by multiple threads, and the
+     * threads stop as soon as the first element is known. the strategy MUST be thread safe.
+     * the result is the same as {@link #pickFirst(Object, Collection, IPickerStrategy)}.
+     *
+     * @param expect
+     * @param collection
+     * @param strategy
+     * @param threshold  the min size of collection to pick in parallel
+     * @return
+     */
+    public static <E, T> T pickFirstParallel(E expect, Collection<T> collection, IPickerStrategy<E, T> strategy,
+                                             int threshold) {
+        if (null == expect || ObjectHelper.isEmpty(collection)) {
+            return null;
+        }
+        if (collection.size() < threshold || ParallelPick.PARALLELISM == 1) {
+            return pickFirst(expect, collection, strategy);
+        }
+        return ParallelPick.pickFirst(expect, collection, strategy);
+    }
+
+    /**
+     * get the elements from collection if {@link IPickerStrategy#isPicked(Object, Object)} return true, in parallel
+     * if the size of collection is not less than {@link #PARALLEL_THRESHOLD}.
+     *
+     * @see #pickParallel(Object, Collection, IPickerStrategy, int)
+     */
+    public static <E, T> List<T> pickParallel(E expect, Collection<T> collection, IPickerStrategy<E, T> strategy) {
+        return pickParallel(expect, collection, strategy, PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * get the elements from collection if {@link IPickerStrategy#isPicked(Object, Object)} return true.
+     * <p/>
+     * if the size of collection is not less than threshold, the elements are picked by multiple threads.
+     * the strategy MUST be thread safe. the result is the same as {@link #pick(Object, Collection, IPickerStrategy)},
+     * the picked elements keep their order in collection.
+     *
+     * @param expect
+     * @param collection
+     * @param strategy
+     * @param threshold  the min size of collection to pick in parallel
+     * @return
+     */
+    public static <E, T> List<T> pickParallel(E expect, Collection<T> collection, IPickerStrategy<E, T> strategy,
+                                              int threshold) {
+        if (null == expect || ObjectHelper.isEmpty(collection)) {
+            return null;
+        }
+        if (null == strategy) {
+            return null;
+        }
+        if (collection.size() < threshold || ParallelPick.PARALLELISM == 1) {
+            return pick(expect, collection, strategy);
+        }
+        return ParallelPick.pick(expect, collection, strategy);
+    }
+
+    /**
+     * get the best k elements from collection, in the order of comparator, the greatest first.
+     *
+     * @see #pickTop(Object, Collection, IPickerStrategy, Comparator, int)
+     */
+    public static <T> List<T> pickTop(Collection<T> collection, Comparator<? super T> comparator, int k) {
+        return ObjectHelper.isEmpty(collection) ? null : top(null, collection, null, k, comparator, null, false);
+    }
+
+    /**
+     * get the best k elements from collection, in the order of score, the highest first.
+     *
+     * @see #pickTop(Object, Collection, IPickerStrategy, IScorer, int)
+     */
+    public static <T> List<T> pickTop(Collection<T> collection, IScorer<? super T> scorer, int k) {
+        return ObjectHelper.isEmpty(collection) ? null : top(null, collection, null, k, null, checkScorer(scorer), false);
+    }
+
+    /**
+     * get the best k elements from collection if {@link IPickerStrategy#isPicked(Object, Object)} return true.
+     * <p/>
+     * the elements are selected by a heap of size k, it is O(n log k) instead of sorting all the picked elements.
+     * the result is the same as sorting the picked elements by comparator descending, and the equal elements keep their
+     * order in collection.
+     *
+     * @param expect
+     * @param collection
+     * @param strategy
+     * @param comparator the greater element is better, null means {@link ObjectHelper#compare(Object, Object)}
+     * @param k          max count of the picked elements
+     * @return the best elements, the best first
+     */
+    public static <E, T> List<T> pickTop(E expect, Collection<T> collection, IPickerStrategy<E, T> strategy,
+                                         Comparator<? super T> comparator, int k) {
+        if (null == expect || ObjectHelper.isEmpty(collection) || null == strategy) {
+            return null;
+        }
+        return top(expect, collection, strategy, k, comparator, null, false);
+    }
+
+    /**
+     * get the best k elements from collection if {@link IPickerStrategy#isPicked(Object, Object)} return true, by the
+     * primitive score of each element, without boxing.
+     *
+     * @param expect
+     * @param collection
+     * @param strategy
+     * @param scorer     the higher score is better
+     * @param k          max count of the picked elements
+     * @return the best elements, the highest score first
+     * @see #pickTop(Object, Collection, IPickerStrategy, Comparator, int)
+     */
+    public static <E, T> List<T> pickTop(E expect, Collection<T> collection, IPickerStrategy<E, T> strategy,
+                                         IScorer<? super T> scorer, int k) {
+        if (null == expect || ObjectHelper.isEmpty(collection) || null == strategy) {
+            return null;
+        }
+        return top(expect, collection, strategy, k, null, checkScorer(scorer), false);
+    }
+
+    /**
+     * same as {@link #pickTop(Object, Collection, IPickerStrategy, Comparator, int)}, but in parallel if the size of
+     * collection is not less than {@link #PARALLEL_THRESHOLD}. the best elements of each part are merged.
+     * the strategy and comparator MUST be thread safe.
+     */
+    public static <E, T> List<T> pickTopParallel(E expect, Collection<T> collection, IPickerStrategy<E, T> strategy,
+                                                 Comparator<? super T> comparator, int k) {
+        if (null == expect || ObjectHelper.isEmpty(collection) || null == strategy) {
+            return null;
+        }
+        return top(expect, collection, strategy, k, comparator, null, true);
+    }
+
+    /**
+     * same as {@link #pickTop(Object, Collection, IPickerStrategy, IScorer, int)}, but in parallel if the size of
+     * collection is not less than {@link #PARALLEL_THRESHOLD}. the best elements of each part are merged.
+     * the strategy and scorer MUST be thread safe.
+     */
+    public static <E, T> List<T> pickTopParallel(E expect, Collection<T> collection, IPickerStrategy<E, T> strategy,
+                                                 IScorer<? super T> scorer, int k) {
+        if (null == expect || ObjectHelper.isEmpty(collection) || null == strategy) {
+            return null;
+        }
+        return top(expect, collection, strategy, k, null, checkScorer(scorer), true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E, T> List<T> top(E expect, Collection<T> collection, IPickerStrategy<E, T> strategy, int k,
+                                      Comparator<? super T> comparator, IScorer<? super T> scorer, boolean parallel) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k MUST NOT be negative!");
+        }
+        if (strategy == null) {
+            strategy = (IPickerStrategy<E, T>) PICK_ALL;
+        }
+        if (scorer == null && comparator == null) {
+            comparator = (Comparator<? super T>) NATURAL_ORDER;
+        }
+        if (parallel && collection.size() >= PARALLEL_THRESHOLD && ParallelPick.PARALLELISM > 1) {
+            return ParallelPick.pickTop(expect, collection, strategy, k, comparator, scorer);
+        }
+        TopK<T> top = new TopK<>(k, comparator, scorer);
+        int order = 0;
+        for (T t : collection) {
+            if (strategy.isPicked(expect, t)) {
+                top.offer(t, order);
+            }
+            order++;
+        }
+        return top.toList();
+    }
+
+    private static <T> IScorer<T> checkScorer(IScorer<T> scorer) {
+        if (scorer == null) {
+            throw new IllegalArgumentException("scorer MUST NOT be null!");
+        }
+        return scorer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends IPicker<T>> IPickerStrategy<T, T> pickerStrategy() {
+        return (IPickerStrategy) PICKER_STRATEGY;
+    }
+
+    /**
+     * lazy iterator of the picked elements.
+     */
+    private static final class PickIterator<E, T> implements Iterator<T> {
+        private final E expect;
+        private final Iterator<T> iterator;
+        private final IPickerStrategy<E, T> strategy;
+        private int remaining;
+        private T next;
+        private boolean hasNext;
+        private boolean canRemove;
+
+        PickIterator(E expect, Iterator<T> iterator, IPickerStrategy<E, T> strategy, int limit) {
+            this.expect = expect;
+            this.iterator = iterator;
+            this.strategy = strategy;
+            this.remaining = limit;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (hasNext) {
+                return true;
+            }
+            if (remaining <= 0) {
+                return false;
+            }
+            canRemove = false;
+            while (iterator.hasNext()) {
+                T t = iterator.next();
+                if (strategy.isPicked(expect, t)) {
+                    next = t;
+                    hasNext = true;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T t = next;
+            next = null;
+            hasNext = false;
+            canRemove = true;
+            remaining--;
+            return t;
+        }
+
+        @Override
+        public void remove() {
+            if (!canRemove) {
+                throw new IllegalStateException("remove() MUST be called after next() and before hasNext()");
+            }
+            canRemove = false;
+            iterator.remove();
+        }
+    }
+
     /**
      * picker wrapper
      *
@@ -142,4 +578,13 @@ public class CollectionPicker {
     public interface IPickerStrategy<E, T> {
         boolean isPicked(E expect, T target);
     }
+
+    /**
+     * Score of an element, for {@link #pickTop(Object, Collection, IPickerStrategy, IScorer, int)}
+     *
+     * @param <T>
+     */
+    public interface IScorer<T> {
+        double score(T target);
+    }
 }
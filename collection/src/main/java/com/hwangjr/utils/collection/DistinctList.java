@@ -0,0 +1,172 @@
+package com.hwangjr.utils.collection;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * List without duplicate entries, it keeps a hash index of the entries in sync with the list,
+ * so {@link #add(Object)} and {@link #contains(Object)} are O(1), and merging m entries is O(m).
+ * <ul>
+ * <li>{@link #add(Object)} and {@link #addAll(Collection)} skip the entries already in list, and return false if
+ * nothing is added.</li>
+ * <li>{@link #add(int, Object)} and {@link #set(int, Object)} throw {@link IllegalArgumentException} if the entry
+ * already exists at another position.</li>
+ * </ul>
+ * The entries are compared by {@link Object#equals(Object)}, null is allowed. The entries should not be changed in
+ * the way which changes their hash code while they are in list.
+ *
+ * @param <V>
+ */
+public class DistinctList<V> extends AbstractList<V> implements RandomAccess {
+    private final ArrayList<V> list;
+    private final Set<V> index;
+
+    public DistinctList() {
+        this(10);
+    }
+
+    public DistinctList(int initialCapacity) {
+        list = new ArrayList<>(initialCapacity);
+        index = new HashSet<>(Math.max(16, (int) (initialCapacity / .75f) + 1));
+    }
+
+    /**
+     * create the list with the distinct entries of the collection, keep the first occurrence and the order.
+     */
+    public DistinctList(Collection<? extends V> collection) {
+        this(collection.size());
+        addAll(collection);
+    }
+
+    @Override
+    public V get(int location) {
+        return list.get(location);
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        return index.contains(object);
+    }
+
+    @Override
+    public int indexOf(Object object) {
+        return index.contains(object) ? list.indexOf(object) : -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object object) {
+        return indexOf(object);
+    }
+
+    /**
+     * add the entry if it is not in list.
+     *
+     * @return false if the entry already exists
+     */
+    @Override
+    public boolean add(V object) {
+        if (!index.add(object)) {
+            return false;
+        }
+        list.add(object);
+        modCount++;
+        return true;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the entry already exists
+     */
+    @Override
+    public void add(int location, V object) {
+        if (location < 0 || location > list.size()) {
+            throw new IndexOutOfBoundsException("location=" + location + ", size=" + list.size());
+        }
+        if (!index.add(object)) {
+            throw new IllegalArgumentException("entry already exists: " + object);
+        }
+        list.add(location, object);
+        modCount++;
+    }
+
+    /**
+     * add the entries which are not in list, keep their order.
+     *
+     * @return false if nothing is added
+     */
+    @Override
+    public boolean addAll(Collection<? extends V> collection) {
+        list.ensureCapacity(list.size() + collection.size());
+        boolean modified = false;
+        for (V object : collection) {
+            if (index.add(object)) {
+                list.add(object);
+                modified = true;
+            }
+        }
+        if (modified) {
+            modCount++;
+        }
+        return modified;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the entry already exists at another position
+     */
+    @Override
+    public V set(int location, V object) {
+        V old = list.get(location);
+        if (old == object || (old != null && old.equals(object))) {
+            return list.set(location, object);
+        }
+        if (!index.add(object)) {
+            throw new IllegalArgumentException("entry already exists: " + object);
+        }
+        index.remove(old);
+        return list.set(location, object);
+    }
+
+    @Override
+    public V remove(int location) {
+        V old = list.remove(location);
+        index.remove(old);
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        if (!index.remove(object)) {
+            return false;
+        }
+        list.remove(object);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        list.clear();
+        index.clear();
+        modCount++;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        List<V> range = list.subList(fromIndex, toIndex);
+        for (V object : range) {
+            index.remove(object);
+        }
+        range.clear();
+        modCount++;
+    }
+}
@@ -3,7 +3,14 @@ package com.hwangjr.utils.collection;
 import com.hwangjr.utils.basic.ObjectHelper;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.Set;
 
 public class ListHelper {
     /**
@@ -68,6 +75,8 @@ public class ListHelper {
 
     /**
      * add distinct entry to list
+     * <p/>
+     * it is O(n) for common list, use {@link DistinctList} for O(1).
      *
      * @param <V>
      * @param sourceList
@@ -75,11 +84,16 @@ public class ListHelper {
      * @return if entry already exist in sourceList, return false, else add it and return true.
      */
     public static <V> boolean addDistinctEntry(List<V> sourceList, V entry) {
+        if (sourceList instanceof DistinctList) {
+            return sourceList.add(entry);
+        }
         return (sourceList != null && !sourceList.contains(entry)) ? sourceList.add(entry) : false;
     }
 
     /**
      * add all distinct entry to list1 from list2
+     * <p/>
+     * the entries of sourceList are indexed by a hash set once, so it is O(n+m).
      *
      * @param <V>
      * @param sourceList
@@ -92,8 +106,18 @@ public class ListHelper {
         }
 
         int sourceCount = sourceList.size();
+        if (sourceList instanceof DistinctList) {
+            sourceList.addAll(entryList);
+            return sourceList.size() - sourceCount;
+        }
+        if (entryList.size() == 1) {
+            addDistinctEntry(sourceList, entryList.get(0));
+            return sourceList.size() - sourceCount;
+        }
+        Set<Object> index = newKeySet(sourceCount + entryList.size(), false);
+        index.addAll(sourceList);
         for (V entry : entryList) {
-            if (!sourceList.contains(entry)) {
+            if (index.add(entry)) {
                 sourceList.add(entry);
             }
         }
@@ -101,31 +125,79 @@ public class ListHelper {
     }
 
     /**
-     * remove duplicate entries in list
+     * remove duplicate entries in list, keep the first occurrence and the order.
+     * <p/>
+     * it is done in one pass with a hash set, and the list is compacted in place.
      *
      * @param <V>
      * @param sourceList
      * @return the count of entries be removed
      */
     public static <V> int distinctList(List<V> sourceList) {
+        return distinctList(sourceList, null, false);
+    }
+
+    /**
+     * remove the entries whose key is duplicate in list, keep the first occurrence and the order.
+     *
+     * @param <V>
+     * @param sourceList
+     * @param keyExtractor extract the key to distinct, null means the entry itself
+     * @return the count of entries be removed
+     */
+    public static <V> int distinctList(List<V> sourceList, CollectionHelper.IKeyExtractor<? super V, ?> keyExtractor) {
+        return distinctList(sourceList, keyExtractor, false);
+    }
+
+    /**
+     * remove the entries whose key is duplicate in list, keep the first occurrence and the order.
+     *
+     * @param <V>
+     * @param sourceList
+     * @param keyExtractor extract the key to distinct, null means the entry itself
+     * @param identity     if true, the keys are compared by ==, else by {@link Object#equals(Object)}
+     * @return the count of entries be removed
+     */
+    public static <V> int distinctList(List<V> sourceList, CollectionHelper.IKeyExtractor<? super V, ?> keyExtractor,
+                                       boolean identity) {
         if (ObjectHelper.isEmpty(sourceList)) {
             return 0;
         }
 
         int sourceCount = sourceList.size();
-        int sourceListSize = sourceList.size();
-        for (int i = 0; i < sourceListSize; i++) {
-            for (int j = (i + 1); j < sourceListSize; j++) {
-                if (sourceList.get(i).equals(sourceList.get(j))) {
-                    sourceList.remove(j);
-                    sourceListSize = sourceList.size();
-                    j--;
+        Set<Object> keys = newKeySet(sourceCount, identity);
+        if (sourceList instanceof RandomAccess) {
+            int size = 0;
+            for (int i = 0; i < sourceCount; i++) {
+                V entry = sourceList.get(i);
+                if (keys.add(keyExtractor == null ? entry : keyExtractor.getKey(entry))) {
+                    if (size != i) {
+                        sourceList.set(size, entry);
+                    }
+                    size++;
+                }
+            }
+            if (size < sourceCount) {
+                sourceList.subList(size, sourceCount).clear();
+            }
+        } else {
+            for (Iterator<V> iterator = sourceList.iterator(); iterator.hasNext(); ) {
+                V entry = iterator.next();
+                if (!keys.add(keyExtractor == null ? entry : keyExtractor.getKey(entry))) {
+                    iterator.remove();
                 }
             }
         }
         return sourceCount - sourceList.size();
     }
 
+    private static Set<Object> newKeySet(int expectedSize, boolean identity) {
+        if (identity) {
+            return Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>(expectedSize));
+        }
+        return new HashSet<>(Math.max(16, (int) (expectedSize / .75f) + 1));
+    }
+
     /**
      * add not null entry to list
      *
@@ -145,15 +217,86 @@ public class ListHelper {
      * @see {@link ArrayHelper#getLast(Object[], Object, Object, boolean)} defaultValue is null, isCircle is true
      */
     public static <V> V getLast(List<V> sourceList, V value) {
-        return (sourceList == null) ? null : (V) ArrayHelper.getLast(sourceList.toArray(), value, true);
+        return getLast(sourceList, value, null, true);
     }
 
     /**
      * @see {@link ArrayHelper#getNext(Object[], Object, Object, boolean)} defaultValue is null, isCircle is true
      */
-    @SuppressWarnings("unchecked")
     public static <V> V getNext(List<V> sourceList, V value) {
-        return (sourceList == null) ? null : (V) ArrayHelper.getNext(sourceList.toArray(), value, true);
+        return getNext(sourceList, value, null, true);
+    }
+
+    /**
+     * get last element of the target element, like {@link ArrayHelper#getLast(Object[], Object, Object, boolean)}.
+     * <p/>
+     * the list is not copied, {@link RandomAccess} list is accessed by index, other list is iterated once.
+     */
+    public static <V> V getLast(List<V> sourceList, V value, V defaultValue, boolean isCircle) {
+        if (ObjectHelper.isEmpty(sourceList)) {
+            return defaultValue;
+        }
+
+        if (sourceList instanceof RandomAccess) {
+            int currentPosition = sourceList.indexOf(value);
+            if (currentPosition == -1) {
+                return defaultValue;
+            }
+            if (currentPosition == 0) {
+                return isCircle ? sourceList.get(sourceList.size() - 1) : defaultValue;
+            }
+            return sourceList.get(currentPosition - 1);
+        }
+
+        V last = null;
+        for (ListIterator<V> iterator = sourceList.listIterator(); iterator.hasNext(); ) {
+            V current = iterator.next();
+            if (ObjectHelper.isEquals(value, current)) {
+                if (iterator.previousIndex() != 0) {
+                    return last;
+                }
+                return isCircle ? sourceList.listIterator(sourceList.size()).previous() : defaultValue;
+            }
+            last = current;
+        }
+        return defaultValue;
+    }
+
+    /**
+     * get next element of the target element, like {@link ArrayHelper#getNext(Object[], Object, Object, boolean)}.
+     * <p/>
+     * the list is not copied, {@link RandomAccess} list is accessed by index, other list is iterated once.
+     */
+    public static <V> V getNext(List<V> sourceList, V value, V defaultValue, boolean isCircle) {
+        if (ObjectHelper.isEmpty(sourceList)) {
+            return defaultValue;
+        }
+
+        if (sourceList instanceof RandomAccess) {
+            int currentPosition = sourceList.indexOf(value);
+            if (currentPosition == -1) {
+                return defaultValue;
+            }
+            if (currentPosition == sourceList.size() - 1) {
+                return isCircle ? sourceList.get(0) : defaultValue;
+            }
+            return sourceList.get(currentPosition + 1);
+        }
+
+        V first = null;
+        for (ListIterator<V> iterator = sourceList.listIterator(); iterator.hasNext(); ) {
+            V current = iterator.next();
+            if (iterator.previousIndex() == 0) {
+                first = current;
+            }
+            if (ObjectHelper.isEquals(value, current)) {
+                if (iterator.hasNext()) {
+                    return iterator.next();
+                }
+                return isCircle ? first : defaultValue;
+            }
+        }
+        return defaultValue;
     }
 
     /**
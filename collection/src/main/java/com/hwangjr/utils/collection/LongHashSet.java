@@ -0,0 +1,78 @@
+package com.hwangjr.utils.collection;
+
+/**
+ * Open addressing hash set of long, without boxing.
+ * The other primitive values are widened to long, float and double by their bits.
+ */
+final class LongHashSet {
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] values;
+    private boolean[] used;
+    private int size;
+    private int mask;
+
+    LongHashSet(int expectedSize) {
+        int capacity = 4;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        values = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(long value) {
+        for (int i = hash(value) & mask; used[i]; i = (i + 1) & mask) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the value is added, false if it already exists
+     */
+    boolean add(long value) {
+        int i = hash(value) & mask;
+        for (; used[i]; i = (i + 1) & mask) {
+            if (values[i] == value) {
+                return false;
+            }
+        }
+        values[i] = value;
+        used[i] = true;
+        if (++size > values.length * LOAD_FACTOR) {
+            rehash(values.length << 1);
+        }
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+        values = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        for (int j = 0; j < oldValues.length; j++) {
+            if (oldUsed[j]) {
+                int i = hash(oldValues[j]) & mask;
+                while (used[i]) {
+                    i = (i + 1) & mask;
+                }
+                values[i] = oldValues[j];
+                used[i] = true;
+            }
+        }
+    }
+
+    private static int hash(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
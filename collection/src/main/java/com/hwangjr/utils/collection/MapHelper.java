@@ -3,7 +3,6 @@ package com.hwangjr.utils.collection;
 
 import com.hwangjr.utils.basic.ObjectHelper;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -152,6 +151,7 @@ public class MapHelper {
      * <ul>
      * <strong>Attentions:</strong>
      * <li>for HashMap, the order of entry not same to put order, so you may need to use TreeMap</li>
+     * <li>it scans the entries, use {@link BiMap} for the repeated lookups, see {@link #toBiMap(Map)}</li>
      * </ul>
      *
      * @param <V>
@@ -167,6 +167,9 @@ public class MapHelper {
         if (isEmpty(map)) {
             return null;
         }
+        if (map instanceof BiMap) {
+            return ((BiMap<K, V>) map).getKey(value);
+        }
 
         for (Entry<K, V> entry : map.entrySet()) {
             if (ObjectHelper.isEquals(entry.getValue(), value)) {
@@ -176,6 +179,29 @@ public class MapHelper {
         return null;
     }
 
+    /**
+     * create {@link BiMap} with the entries of map, to get key by value in O(1).
+     *
+     * @param map
+     * @return if map is null, return null
+     * @throws IllegalArgumentException if there are duplicate values in map
+     */
+    public static <K, V> BiMap<K, V> toBiMap(Map<? extends K, ? extends V> map) {
+        return map == null ? null : new BiMap<K, V>(map);
+    }
+
+    /**
+     * create thread safe {@link BiMap} with the entries of map, to get key by value in O(1).
+     *
+     * @param map
+     * @return if map is null, return null
+     * @throws IllegalArgumentException if there are duplicate values in map
+     * @see BiMap#createConcurrent()
+     */
+    public static <K, V> BiMap<K, V> toConcurrentBiMap(Map<? extends K, ? extends V> map) {
+        return map == null ? null : BiMap.<K, V>createConcurrent(map);
+    }
+
     /**
      * parse key-value pairs to map, ignore empty key
      * <p/>
@@ -192,6 +218,8 @@ public class MapHelper {
      * parseToMap("a=b, c=d", ",", ";", false)={(a=b, c=d)}
      * </pre>
      *
+     * the separators are literal, see {@link MapTokenizer}.
+     *
      * @param source                   key-value pairs
      * @param keyAndValueSeparator     separator between key and value
      * @param keyAndValuePairSeparator separator between key-value pairs
@@ -204,33 +232,7 @@ public class MapHelper {
             return null;
         }
 
-        if (ObjectHelper.isEmpty(keyAndValueSeparator)) {
-            keyAndValueSeparator = DEFAULT_KEY_AND_VALUE_SEPARATOR;
-        }
-        if (ObjectHelper.isEmpty(keyAndValuePairSeparator)) {
-            keyAndValuePairSeparator = DEFAULT_KEY_AND_VALUE_PAIR_SEPARATOR;
-        }
-        Map<String, String> keyAndValueMap = new HashMap<>();
-        String[] keyAndValueArray = source.split(keyAndValuePairSeparator);
-        if (keyAndValueArray == null) {
-            return null;
-        }
-
-        for (String valueEntity : keyAndValueArray) {
-            if (!ObjectHelper.isEmpty(valueEntity)) {
-                int separatorIndex = valueEntity.indexOf(keyAndValueSeparator);
-                if (separatorIndex != -1) {
-                    if (ignoreSpace) {
-                        putNotEmptyKey(keyAndValueMap, valueEntity.substring(0, separatorIndex).trim(),
-                                valueEntity.substring(separatorIndex + 1).trim());
-                    } else {
-                        putNotEmptyKey(keyAndValueMap, valueEntity.substring(0, separatorIndex),
-                                valueEntity.substring(separatorIndex + 1));
-                    }
-                }
-            }
-        }
-        return keyAndValueMap;
+        return new MapTokenizer(keyAndValueSeparator, keyAndValuePairSeparator, ignoreSpace).parse(source);
     }
 
     /**
@@ -0,0 +1,305 @@
+package com.hwangjr.utils.collection;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tokenize key-value pairs, like: "a:b,c:d".
+ * <ul>
+ * <li>the separators are literal, not regex, and may be more than one char.</li>
+ * <li>the key ends at the first key-value separator, the rest of pair is value.</li>
+ * <li>the pair without key-value separator or with empty key is ignored.</li>
+ * <li>if ignoreSpace is true, the space at the beginning or end of key and value is ignored.</li>
+ * <li>if quote is set, the separators and spaces between quotes are kept in key or value, the quotes are removed.</li>
+ * <li>if escape is set, the char after it is kept in key or value, the escape is removed.</li>
+ * </ul>
+ * The input is scanned once, from {@link CharSequence}, char array or {@link Reader}, and each pair is given to
+ * {@link IEntryHandler} as soon as it is read, without regex or splitting to array.
+ * The tokenizer is immutable and can be shared between threads.
+ */
+public final class MapTokenizer {
+    /**
+     * no quote or escape
+     */
+    public static final char NONE = '\0';
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private final char[] keyAndValueSeparator;
+    private final char[] keyAndValuePairSeparator;
+    private final boolean ignoreSpace;
+    private final char quote;
+    private final char escape;
+
+    /**
+     * tokenizer without quote and escape.
+     *
+     * @see #MapTokenizer(String, String, boolean, char, char)
+     */
+    public MapTokenizer(String keyAndValueSeparator, String keyAndValuePairSeparator, boolean ignoreSpace) {
+        this(keyAndValueSeparator, keyAndValuePairSeparator, ignoreSpace, NONE, NONE);
+    }
+
+    /**
+     * @param keyAndValueSeparator     separator between key and value, {@link MapHelper#DEFAULT_KEY_AND_VALUE_SEPARATOR}
+     *                                 if empty
+     * @param keyAndValuePairSeparator separator between key-value pairs,
+     *                                 {@link MapHelper#DEFAULT_KEY_AND_VALUE_PAIR_SEPARATOR} if empty
+     * @param ignoreSpace              whether ignore space at the beginning or end of key and value
+     * @param quote                    quote char, {@link #NONE} means no quote
+     * @param escape                   escape char, {@link #NONE} means no escape
+     */
+    public MapTokenizer(String keyAndValueSeparator, String keyAndValuePairSeparator, boolean ignoreSpace,
+                        char quote, char escape) {
+        this.keyAndValueSeparator = (keyAndValueSeparator == null || keyAndValueSeparator.length() == 0 ?
+                MapHelper.DEFAULT_KEY_AND_VALUE_SEPARATOR : keyAndValueSeparator).toCharArray();
+        this.keyAndValuePairSeparator = (keyAndValuePairSeparator == null || keyAndValuePairSeparator.length() == 0 ?
+                MapHelper.DEFAULT_KEY_AND_VALUE_PAIR_SEPARATOR : keyAndValuePairSeparator).toCharArray();
+        this.ignoreSpace = ignoreSpace;
+        this.quote = quote;
+        this.escape = escape;
+    }
+
+    /**
+     * parse key-value pairs to map, the later value of the same key wins.
+     *
+     * @return the map, empty if source is null
+     */
+    public Map<String, String> parse(CharSequence source) {
+        final Map<String, String> map = new HashMap<>();
+        tokenize(source, new IEntryHandler() {
+            @Override
+            public void onEntry(String key, String value) {
+                map.put(key, value);
+            }
+        });
+        return map;
+    }
+
+    /**
+     * tokenize key-value pairs.
+     *
+     * @param source  nullable
+     * @param handler
+     */
+    public void tokenize(CharSequence source, IEntryHandler handler) {
+        if (source == null) {
+            return;
+        }
+        int length = source.length();
+        if (length <= BUFFER_SIZE) {
+            char[] chars = new char[length];
+            getChars(source, 0, length, chars, 0);
+            tokenize(chars, 0, length, handler);
+            return;
+        }
+        State state = new State();
+        char[] buffer = new char[bufferSize()];
+        int carry = 0;
+        for (int position = 0; position < length; ) {
+            int count = Math.min(buffer.length - carry, length - position);
+            getChars(source, position, position + count, buffer, carry);
+            position += count;
+            carry = scan(buffer, carry + count, position == length, state, handler);
+        }
+        state.endEntry(handler);
+    }
+
+    /**
+     * tokenize key-value pairs in [start, end) of source.
+     *
+     * @param source  nullable
+     * @param start
+     * @param end
+     * @param handler
+     */
+    public void tokenize(char[] source, int start, int end, IEntryHandler handler) {
+        if (source == null) {
+            return;
+        }
+        if (start < 0 || end > source.length || start > end) {
+            throw new IndexOutOfBoundsException("length=" + source.length + ", start=" + start + ", end=" + end);
+        }
+        State state = new State();
+        scan(source, start, end, true, state, handler);
+        state.endEntry(handler);
+    }
+
+    /**
+     * tokenize key-value pairs from reader, the pairs are given to handler while reading.
+     * the reader is not closed.
+     *
+     * @param reader
+     * @param handler
+     * @throws IOException
+     */
+    public void tokenize(Reader reader, IEntryHandler handler) throws IOException {
+        State state = new State();
+        char[] buffer = new char[bufferSize()];
+        int carry = 0;
+        int count;
+        while ((count = reader.read(buffer, carry, buffer.length - carry)) != -1) {
+            carry = scan(buffer, carry + count, false, state, handler);
+        }
+        scan(buffer, carry, true, state, handler);
+        state.endEntry(handler);
+    }
+
+    private int bufferSize() {
+        return Math.max(BUFFER_SIZE, 2 * Math.max(keyAndValueSeparator.length, keyAndValuePairSeparator.length));
+    }
+
+    /**
+     * scan the chars in [0, end) of buffer, and move the chars which can not be decided yet to the front.
+     *
+     * @return count of the moved chars
+     */
+    private int scan(char[] buffer, int end, boolean endOfInput, State state, IEntryHandler handler) {
+        int consumed = scan(buffer, 0, end, endOfInput, state, handler);
+        System.arraycopy(buffer, consumed, buffer, 0, end - consumed);
+        return end - consumed;
+    }
+
+    /**
+     * scan the chars in [start, end), stop at the escape or the part of separator at the end if not endOfInput.
+     *
+     * @return index of the first char not scanned
+     */
+    private int scan(char[] chars, int start, int end, boolean endOfInput, State state, IEntryHandler handler) {
+        int i = start;
+        while (i < end) {
+            char c = chars[i];
+            if (escape != NONE && c == escape) {
+                if (i + 1 < end) {
+                    state.append(chars[i + 1], true);
+                    i += 2;
+                    continue;
+                } else if (!endOfInput) {
+                    return i;
+                }
+            } else if (quote != NONE && c == quote) {
+                state.inQuote = !state.inQuote;
+                state.markLiteral();
+                i++;
+                continue;
+            } else if (!state.inQuote) {
+                int matched = match(chars, i, end, keyAndValuePairSeparator);
+                if (matched < 0 && !endOfInput) {
+                    return i;
+                } else if (matched > 0) {
+                    state.endEntry(handler);
+                    i += keyAndValuePairSeparator.length;
+                    continue;
+                }
+                if (state.key == null) {
+                    matched = match(chars, i, end, keyAndValueSeparator);
+                    if (matched < 0 && !endOfInput) {
+                        return i;
+                    } else if (matched > 0) {
+                        state.key = state.endToken();
+                        i += keyAndValueSeparator.length;
+                        continue;
+                    }
+                }
+            }
+            state.append(c, state.inQuote);
+            i++;
+        }
+        return end;
+    }
+
+    /**
+     * @return 1 if separator matches at index, -1 if the chars till end are the beginning of separator, otherwise 0
+     */
+    private static int match(char[] chars, int index, int end, char[] separator) {
+        for (int j = 0; j < separator.length; j++) {
+            if (index + j == end) {
+                return -1;
+            }
+            if (chars[index + j] != separator[j]) {
+                return 0;
+            }
+        }
+        return 1;
+    }
+
+    private static void getChars(CharSequence source, int start, int end, char[] dest, int destStart) {
+        if (source instanceof String) {
+            ((String) source).getChars(start, end, dest, destStart);
+        } else if (source instanceof StringBuilder) {
+            ((StringBuilder) source).getChars(start, end, dest, destStart);
+        } else {
+            for (int i = start; i < end; i++) {
+                dest[destStart++] = source.charAt(i);
+            }
+        }
+    }
+
+    /**
+     * state of the current pair, it is kept between the chunks of input.
+     */
+    private final class State {
+        private final StringBuilder token = new StringBuilder();
+        private String key;
+        private boolean inQuote;
+
+        /**
+         * length of token without the trailing space.
+         */
+        private int trimmedLength;
+
+        /**
+         * whether the token has quoted or escaped char, the leading space is kept after it.
+         */
+        private boolean started;
+
+        /**
+         * @param literal whether the char is quoted or escaped
+         */
+        void append(char c, boolean literal) {
+            if (ignoreSpace && !literal && !started && c <= ' ') {
+                return;
+            }
+            started = true;
+            token.append(c);
+            if (!ignoreSpace || literal || c > ' ') {
+                trimmedLength = token.length();
+            }
+        }
+
+        /**
+         * mark the token started at a quote, so the spaces before it are kept.
+         */
+        void markLiteral() {
+            started = true;
+            trimmedLength = token.length();
+        }
+
+        String endToken() {
+            token.setLength(trimmedLength);
+            String result = token.toString();
+            token.setLength(0);
+            trimmedLength = 0;
+            started = false;
+            return result;
+        }
+
+        void endEntry(IEntryHandler handler) {
+            String value = endToken();
+            if (key != null && key.length() > 0) {
+                handler.onEntry(key, value);
+            }
+            key = null;
+            inQuote = false;
+        }
+    }
+
+    /**
+     * Handler of the key-value pairs.
+     */
+    public interface IEntryHandler {
+        void onEntry(String key, String value);
+    }
+}
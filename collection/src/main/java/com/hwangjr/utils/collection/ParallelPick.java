@@ -0,0 +1,231 @@
+package com.hwangjr.utils.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Parallel pick of {@link CollectionPicker}.
+ * <p/>
+ * The elements are split to chunks by index, the calling thread and the shared workers take the chunks one by one,
+ * so the pick completes even if no worker is free, e.g. it is called from a worker.
+ * <ul>
+ * <li>pick: the picked elements of each chunk are concatenated in order.</li>
+ * <li>pickFirst: the chunks after the first picked element are skipped.</li>
+ * <li>pickTop: the best elements of each chunk are merged.</li>
+ * </ul>
+ *
+ * @param <E>
+ * @param <T>
+ */
+abstract class ParallelPick<E, T> implements Runnable {
+    static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * count of chunks for each worker, to balance the uneven chunks.
+     */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    final E expect;
+    final List<T> source;
+    final CollectionPicker.IPickerStrategy<E, T> strategy;
+    final int chunkCount;
+    private final int chunkSize;
+    private final AtomicInteger nextChunk = new AtomicInteger();
+    private final CountDownLatch done;
+    private volatile Throwable failure;
+
+    @SuppressWarnings("unchecked")
+    ParallelPick(E expect, Collection<T> collection, CollectionPicker.IPickerStrategy<E, T> strategy) {
+        this.expect = expect;
+        this.source = collection instanceof RandomAccess && collection instanceof List ?
+                (List<T>) collection : (List<T>) Arrays.asList(collection.toArray());
+        this.strategy = strategy;
+        int size = source.size();
+        this.chunkSize = Math.max(1, (size + PARALLELISM * CHUNKS_PER_WORKER - 1) / (PARALLELISM * CHUNKS_PER_WORKER));
+        this.chunkCount = (size + chunkSize - 1) / chunkSize;
+        this.done = new CountDownLatch(chunkCount);
+    }
+
+    static <E, T> List<T> pick(E expect, Collection<T> collection, CollectionPicker.IPickerStrategy<E, T> strategy) {
+        PickAll<E, T> pick = new PickAll<>(expect, collection, strategy);
+        pick.execute();
+        int size = 0;
+        for (int i = 0; i < pick.chunkCount; i++) {
+            size += pick.results.get(i).size();
+        }
+        List<T> picked = new ArrayList<>(size);
+        for (int i = 0; i < pick.chunkCount; i++) {
+            picked.addAll(pick.results.get(i));
+        }
+        return picked;
+    }
+
+    static <E, T> T pickFirst(E expect, Collection<T> collection, CollectionPicker.IPickerStrategy<E, T> strategy) {
+        PickFirst<E, T> pick = new PickFirst<>(expect, collection, strategy);
+        pick.execute();
+        int index = pick.firstIndex.get();
+        return index == Integer.MAX_VALUE ? null : pick.source.get(index);
+    }
+
+    static <E, T> List<T> pickTop(E expect, Collection<T> collection, CollectionPicker.IPickerStrategy<E, T> strategy,
+                                  int k, Comparator<? super T> comparator, CollectionPicker.IScorer<? super T> scorer) {
+        PickTop<E, T> pick = new PickTop<>(expect, collection, strategy, k, comparator, scorer);
+        pick.execute();
+        TopK<T> top = new TopK<>(k, comparator, scorer);
+        for (int i = 0; i < pick.chunkCount; i++) {
+            top.addAll(pick.results.get(i));
+        }
+        return top.toList();
+    }
+
+    void execute() {
+        int workers = Math.min(PARALLELISM, chunkCount) - 1;
+        for (int i = 0; i < workers; i++) {
+            Workers.EXECUTOR.execute(this);
+        }
+        run();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                done.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        Throwable failure = this.failure;
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+    }
+
+    @Override
+    public void run() {
+        int chunk = nextChunk.getAndIncrement();
+        for (; chunk < chunkCount; chunk = nextChunk.getAndIncrement()) {
+            try {
+                if (failure == null) {
+                    pickChunk(chunk);
+                }
+            } catch (Throwable e) {
+                failure = e;
+            } finally {
+                done.countDown();
+            }
+        }
+    }
+
+    private void pickChunk(int chunk) {
+        int from = chunk * chunkSize;
+        pickChunk(chunk, from, Math.min(from + chunkSize, source.size()));
+    }
+
+    /**
+     * pick the elements of source in [from, to).
+     */
+    abstract void pickChunk(int chunk, int from, int to);
+
+    private static final class PickAll<E, T> extends ParallelPick<E, T> {
+        private final AtomicReferenceArray<List<T>> results;
+
+        PickAll(E expect, Collection<T> collection, CollectionPicker.IPickerStrategy<E, T> strategy) {
+            super(expect, collection, strategy);
+            this.results = new AtomicReferenceArray<>(chunkCount);
+        }
+
+        @Override
+        void pickChunk(int chunk, int from, int to) {
+            List<T> picked = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                T t = source.get(i);
+                if (strategy.isPicked(expect, t)) {
+                    picked.add(t);
+                }
+            }
+            results.set(chunk, picked);
+        }
+    }
+
+    private static final class PickFirst<E, T> extends ParallelPick<E, T> {
+        private final AtomicInteger firstIndex = new AtomicInteger(Integer.MAX_VALUE);
+
+        PickFirst(E expect, Collection<T> collection, CollectionPicker.IPickerStrategy<E, T> strategy) {
+            super(expect, collection, strategy);
+        }
+
+        @Override
+        void pickChunk(int chunk, int from, int to) {
+            for (int i = from; i < to && i < firstIndex.get(); i++) {
+                if (strategy.isPicked(expect, source.get(i))) {
+                    int current = firstIndex.get();
+                    while (i < current && !firstIndex.compareAndSet(current, i)) {
+                        current = firstIndex.get();
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class PickTop<E, T> extends ParallelPick<E, T> {
+        private final int k;
+        private final Comparator<? super T> comparator;
+        private final CollectionPicker.IScorer<? super T> scorer;
+        private final AtomicReferenceArray<TopK<T>> results;
+
+        PickTop(E expect, Collection<T> collection, CollectionPicker.IPickerStrategy<E, T> strategy,
+                int k, Comparator<? super T> comparator, CollectionPicker.IScorer<? super T> scorer) {
+            super(expect, collection, strategy);
+            this.k = k;
+            this.comparator = comparator;
+            this.scorer = scorer;
+            this.results = new AtomicReferenceArray<>(chunkCount);
+        }
+
+        @Override
+        void pickChunk(int chunk, int from, int to) {
+            TopK<T> top = new TopK<>(k, comparator, scorer);
+            for (int i = from; i < to; i++) {
+                T t = source.get(i);
+                if (strategy.isPicked(expect, t)) {
+                    top.offer(t, i);
+                }
+            }
+            results.set(chunk, top);
+        }
+    }
+
+    /**
+     * shared daemon workers, created at the first parallel pick.
+     */
+    private static final class Workers {
+        static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(Math.max(1, PARALLELISM - 1),
+                new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "CollectionPicker-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+    }
+}
@@ -0,0 +1,242 @@
+package com.hwangjr.utils.collection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Index of the elements by key, for the repeated picks from the same collection.
+ * <p/>
+ * It is built once from a collection and a key extractor, then {@link #pickFirst(Object)} and {@link #pick(Object)}
+ * are O(1) by hash, instead of scanning the collection like
+ * {@link CollectionPicker#pickFirst(Object, Collection, CollectionPicker.IPickerStrategy)}.
+ * The index created with a {@link Comparator} is ordered, the picks are O(log n), and it supports the range picks like
+ * {@link #pickRange(Object, Object)}.
+ * <p/>
+ * The elements of the same key keep their order of adding. Use {@link #add(Object)} and {@link #remove(Object)} to
+ * keep the index in sync with the source collection, the key of an element should not be changed while it is indexed.
+ * The ordered index of natural order does not permit null key, the element whose key is null is rejected before it is
+ * indexed. The index is not thread safe.
+ *
+ * @param <K> type of key
+ * @param <T> type of element
+ */
+public class PickerIndex<K, T> {
+    private final CollectionHelper.IKeyExtractor<? super T, ? extends K> keyExtractor;
+    private final Map<K, List<T>> index;
+
+    /**
+     * whether the index is ordered by the natural order, which does not permit null key
+     */
+    private final boolean naturalOrder;
+    private int size;
+
+    /**
+     * create the hash index.
+     *
+     * @param collection   the elements, nullable
+     * @param keyExtractor extract the key of element
+     */
+    public PickerIndex(Collection<? extends T> collection, CollectionHelper.IKeyExtractor<? super T, ? extends K> keyExtractor) {
+        this(collection, keyExtractor, new HashMap<K, List<T>>(), false);
+    }
+
+    /**
+     * create the ordered index.
+     *
+     * @param collection   the elements, nullable
+     * @param keyExtractor extract the key of element
+     * @param comparator   the order of keys, null means the natural order
+     * @throws IllegalArgumentException if the order is natural and the key of an element is null
+     */
+    public PickerIndex(Collection<? extends T> collection, CollectionHelper.IKeyExtractor<? super T, ? extends K> keyExtractor,
+                       Comparator<? super K> comparator) {
+        this(collection, keyExtractor, new TreeMap<K, List<T>>(comparator), comparator == null);
+    }
+
+    private PickerIndex(Collection<? extends T> collection, CollectionHelper.IKeyExtractor<? super T, ? extends K> keyExtractor,
+                        Map<K, List<T>> index, boolean naturalOrder) {
+        if (keyExtractor == null) {
+            throw new IllegalArgumentException("keyExtractor MUST NOT be null!");
+        }
+        this.keyExtractor = keyExtractor;
+        this.index = index;
+        this.naturalOrder = naturalOrder;
+        if (collection != null) {
+            addAll(collection);
+        }
+    }
+
+    /**
+     * whether the index is created with a {@link Comparator} and supports the range picks.
+     */
+    public boolean isOrdered() {
+        return index instanceof NavigableMap;
+    }
+
+    /**
+     * count of the indexed elements.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * add element to index.
+     *
+     * @throws IllegalArgumentException if the order is natural and the key of element is null
+     */
+    public void add(T element) {
+        put(getKey(element), element);
+    }
+
+    /**
+     * add elements to index, the keys are checked before any element is added.
+     *
+     * @throws IllegalArgumentException if the order is natural and the key of an element is null
+     */
+    public void addAll(Collection<? extends T> collection) {
+        List<K> keys = new ArrayList<>(collection.size());
+        for (T element : collection) {
+            keys.add(getKey(element));
+        }
+        int i = 0;
+        for (T element : collection) {
+            put(keys.get(i++), element);
+        }
+    }
+
+    /**
+     * remove the first element which equals to the given element from index.
+     *
+     * @return false if the element is not indexed
+     */
+    public boolean remove(T element) {
+        K key = keyExtractor.getKey(element);
+        List<T> elements = get(key);
+        if (elements == null || !elements.remove(element)) {
+            return false;
+        }
+        if (elements.isEmpty()) {
+            index.remove(key);
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * remove all the elements from index.
+     */
+    public void clear() {
+        index.clear();
+        size = 0;
+    }
+
+    /**
+     * whether there is element of the key.
+     */
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * get the first added element of the key.
+     *
+     * @return null if there is no element of the key
+     */
+    public T pickFirst(K key) {
+        List<T> elements = get(key);
+        return elements == null ? null : elements.get(0);
+    }
+
+    /**
+     * get the elements of the key, in the order of adding.
+     *
+     * @return the new list of elements, empty if there is no element of the key
+     */
+    public List<T> pick(K key) {
+        List<T> elements = get(key);
+        return elements == null ? new ArrayList<T>() : new ArrayList<>(elements);
+    }
+
+    /**
+     * get the elements whose key is in [fromKey, toKey), in the order of keys.
+     *
+     * @throws IllegalStateException if the index is not ordered
+     */
+    public List<T> pickRange(K fromKey, K toKey) {
+        return pickRange(fromKey, true, toKey, false);
+    }
+
+    /**
+     * get the elements whose key is between fromKey and toKey, in the order of keys.
+     *
+     * @throws IllegalStateException if the index is not ordered
+     */
+    public List<T> pickRange(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+        List<T> picked = new ArrayList<>();
+        for (List<T> elements : ordered().subMap(fromKey, fromInclusive, toKey, toInclusive).values()) {
+            picked.addAll(elements);
+        }
+        return picked;
+    }
+
+    /**
+     * get the first added element of the least key greater than or equal to the given key.
+     *
+     * @return null if there is no such key
+     * @throws IllegalStateException if the index is not ordered
+     */
+    public T pickFirstCeiling(K key) {
+        Map.Entry<K, List<T>> entry = ordered().ceilingEntry(key);
+        return entry == null ? null : entry.getValue().get(0);
+    }
+
+    /**
+     * get the first added element of the greatest key less than or equal to the given key.
+     *
+     * @return null if there is no such key
+     * @throws IllegalStateException if the index is not ordered
+     */
+    public T pickFirstFloor(K key) {
+        Map.Entry<K, List<T>> entry = ordered().floorEntry(key);
+        return entry == null ? null : entry.getValue().get(0);
+    }
+
+    private K getKey(T element) {
+        K key = keyExtractor.getKey(element);
+        if (key == null && naturalOrder) {
+            throw new IllegalArgumentException("key MUST NOT be null in the index of natural order! element: " + element);
+        }
+        return key;
+    }
+
+    private void put(K key, T element) {
+        List<T> elements = index.get(key);
+        if (elements == null) {
+            elements = new ArrayList<>(2);
+            index.put(key, elements);
+        }
+        elements.add(element);
+        size++;
+    }
+
+    /**
+     * get the elements of the key, null key is absent in the index of natural order.
+     */
+    private List<T> get(K key) {
+        return key == null && naturalOrder ? null : index.get(key);
+    }
+
+    private NavigableMap<K, List<T>> ordered() {
+        if (!(index instanceof NavigableMap)) {
+            throw new IllegalStateException("PickerIndex is not ordered, create it with a Comparator.");
+        }
+        return (NavigableMap<K, List<T>>) index;
+    }
+}
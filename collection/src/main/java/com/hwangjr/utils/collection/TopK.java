@@ -0,0 +1,172 @@
+package com.hwangjr.utils.collection;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Bounded heap to select the best k elements, by a {@link Comparator} or a {@link CollectionPicker.IScorer}.
+ * <p/>
+ * The root of heap is the worst retained element, so each element is offered in O(log k).
+ * The greater element is better, and the earlier offered one is better if they are equal, so the result is the same
+ * as a stable descending sort.
+ *
+ * @param <T>
+ */
+final class TopK<T> {
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private final CollectionPicker.IScorer<? super T> scorer;
+    private Object[] items;
+    private double[] scores;
+    private int[] orders;
+    private int size;
+
+    /**
+     * @param k          max count of the retained elements
+     * @param comparator used if scorer is null
+     * @param scorer     nullable
+     */
+    TopK(int k, Comparator<? super T> comparator, CollectionPicker.IScorer<? super T> scorer) {
+        this.k = k;
+        this.comparator = comparator;
+        this.scorer = scorer;
+        int capacity = Math.min(k, 16);
+        this.items = new Object[capacity];
+        this.scores = scorer == null ? null : new double[capacity];
+        this.orders = new int[capacity];
+    }
+
+    /**
+     * offer an element.
+     *
+     * @param order the index of element in source, to break ties
+     */
+    void offer(T item, int order) {
+        offer(item, scorer == null ? 0 : scorer.score(item), order);
+    }
+
+    /**
+     * offer all the retained elements of the other heap.
+     */
+    @SuppressWarnings("unchecked")
+    void addAll(TopK<T> other) {
+        for (int i = 0; i < other.size; i++) {
+            offer((T) other.items[i], other.scores == null ? 0 : other.scores[i], other.orders[i]);
+        }
+    }
+
+    /**
+     * the retained elements, the best first. the heap is empty after it.
+     */
+    @SuppressWarnings("unchecked")
+    List<T> toList() {
+        Object[] sorted = new Object[size];
+        for (int last = size - 1; last >= 0; last--) {
+            sorted[last] = items[0];
+            move(last, 0);
+            size = last;
+            siftDown(0);
+        }
+        List<T> result = new ArrayList<>(sorted.length);
+        for (Object item : sorted) {
+            result.add((T) item);
+        }
+        return result;
+    }
+
+    private void offer(T item, double score, int order) {
+        if (size < k) {
+            if (size == items.length) {
+                grow();
+            }
+            set(size, item, score, order);
+            siftUp(size++);
+        } else if (k > 0 && compare(item, score, order, 0) > 0) {
+            set(0, item, score, order);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * compare the element with the element at index of heap.
+     *
+     * @return positive if the element is better
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(Object item, double score, int order, int index) {
+        int result = scorer == null ? comparator.compare((T) item, (T) items[index]) : Double.compare(score, scores[index]);
+        if (result != 0) {
+            return result;
+        }
+        return order < orders[index] ? 1 : (order > orders[index] ? -1 : 0);
+    }
+
+    private int compare(int i, int j) {
+        return compare(items[i], scores == null ? 0 : scores[i], orders[i], j);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (compare(index, parent) >= 0) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int child = (index << 1) + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && compare(child + 1, child) < 0) {
+                child++;
+            }
+            if (compare(child, index) >= 0) {
+                return;
+            }
+            swap(index, child);
+            index = child;
+        }
+    }
+
+    private void set(int index, Object item, double score, int order) {
+        items[index] = item;
+        if (scores != null) {
+            scores[index] = score;
+        }
+        orders[index] = order;
+    }
+
+    private void move(int from, int to) {
+        set(to, items[from], scores == null ? 0 : scores[from], orders[from]);
+        items[from] = null;
+    }
+
+    private void swap(int i, int j) {
+        Object item = items[i];
+        double score = scores == null ? 0 : scores[i];
+        int order = orders[i];
+        set(i, items[j], scores == null ? 0 : scores[j], orders[j]);
+        set(j, item, score, order);
+    }
+
+    private void grow() {
+        int capacity = (int) Math.min(k, items.length * 2L);
+        Object[] newItems = new Object[capacity];
+        System.arraycopy(items, 0, newItems, 0, size);
+        items = newItems;
+        if (scores != null) {
+            double[] newScores = new double[capacity];
+            System.arraycopy(scores, 0, newScores, 0, size);
+            scores = newScores;
+        }
+        int[] newOrders = new int[capacity];
+        System.arraycopy(orders, 0, newOrders, 0, size);
+        orders = newOrders;
+    }
+}
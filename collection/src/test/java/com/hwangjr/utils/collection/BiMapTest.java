@@ -0,0 +1,211 @@
+package com.hwangjr.utils.collection;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BiMapTest {
+    private static BiMap<String, Integer> create(boolean concurrent) {
+        BiMap<String, Integer> map = concurrent ? BiMap.<String, Integer>createConcurrent() : new BiMap<String, Integer>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+        return map;
+    }
+
+    /**
+     * the inverse view has exactly the swapped entries of map.
+     */
+    private static void assertConsistent(BiMap<String, Integer> map) {
+        assertEquals(map.size(), map.inverse().size());
+        for (Map.Entry<String, Integer> entry : map.entrySet()) {
+            assertEquals(entry.getKey(), map.getKey(entry.getValue()));
+            assertEquals(entry.getKey(), map.inverse().get(entry.getValue()));
+        }
+    }
+
+    @Test
+    public void lookupBothWays() {
+        for (boolean concurrent : new boolean[]{false, true}) {
+            BiMap<String, Integer> map = create(concurrent);
+            assertEquals(concurrent, map.isConcurrent());
+            assertEquals(Integer.valueOf(2), map.get("b"));
+            assertEquals("b", map.getKey(2));
+            assertTrue(map.containsValue(3));
+            assertNull(map.getKey(4));
+            assertEquals("c", MapHelper.getKeyByValue(map, 3));
+            assertConsistent(map);
+        }
+    }
+
+    @Test
+    public void insertionOrderIsKept() {
+        BiMap<String, Integer> map = create(false);
+        map.put("b", 4);
+        assertEquals(Arrays.asList("a", "b", "c"), Arrays.asList(map.keySet().toArray()));
+        assertEquals(Arrays.asList(1, 4, 3), Arrays.asList(map.values().toArray()));
+    }
+
+    @Test
+    public void putRejectsValueOfAnotherKey() {
+        for (boolean concurrent : new boolean[]{false, true}) {
+            BiMap<String, Integer> map = create(concurrent);
+            assertEquals(Integer.valueOf(1), map.put("a", 1));
+            try {
+                map.put("d", 1);
+                fail();
+            } catch (IllegalArgumentException e) {
+                assertFalse(map.containsKey("d"));
+            }
+            assertNull(map.forcePut("d", 1));
+            assertFalse(map.containsKey("a"));
+            assertEquals("d", map.getKey(1));
+            assertEquals(Integer.valueOf(2), map.put("b", 5));
+            assertFalse(map.containsValue(2));
+            assertConsistent(map);
+        }
+    }
+
+    @Test
+    public void viewsWriteThrough() {
+        for (boolean concurrent : new boolean[]{false, true}) {
+            BiMap<String, Integer> map = create(concurrent);
+            map.inverse().put(4, "d");
+            assertEquals(Integer.valueOf(4), map.get("d"));
+            assertEquals("a", map.removeValue(1));
+            assertFalse(map.containsKey("a"));
+            for (Map.Entry<String, Integer> entry : map.entrySet()) {
+                if ("b".equals(entry.getKey())) {
+                    assertEquals(Integer.valueOf(2), entry.setValue(6));
+                }
+            }
+            assertEquals("b", map.getKey(6));
+            assertNull(map.getKey(2));
+            Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().getValue() == 3) {
+                    iterator.remove();
+                }
+            }
+            assertNull(map.getKey(3));
+            assertTrue(map.keySet().remove("d"));
+            assertNull(map.getKey(4));
+            assertConsistent(map);
+            map.clear();
+            assertTrue(map.inverse().isEmpty());
+        }
+    }
+
+    @Test
+    public void copyRejectsDuplicateValues() {
+        Map<String, Integer> source = new HashMap<>();
+        source.put("a", 1);
+        source.put("b", 1);
+        try {
+            new BiMap<>(source);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void nullHandling() {
+        BiMap<String, Integer> map = create(false);
+        map.put(null, null);
+        assertNull(map.getKey(null));
+        assertTrue(map.containsValue(null));
+        BiMap<String, Integer> concurrent = create(true);
+        assertNull(concurrent.get(null));
+        assertNull(concurrent.getKey(null));
+        assertFalse(concurrent.containsKey(null));
+        assertFalse(concurrent.containsValue(null));
+        assertNull(concurrent.remove(null));
+        assertNull(MapHelper.getKeyByValue(concurrent, null));
+    }
+
+    /**
+     * the writers move their values to fresh keys, half of them through the inverse view, while the readers check that
+     * a key seen by get is never behind the key seen by getKey of its value, which means the value to key index is
+     * written before the key to value index.
+     */
+    @Test(timeout = 30000)
+    public void concurrentUpdatesStayConsistent() throws InterruptedException {
+        final BiMap<String, Integer> map = BiMap.createConcurrent();
+        final int writers = 4;
+        final int steps = 20000;
+        final int values = 100;
+        final AtomicIntegerArray progress = new AtomicIntegerArray(writers);
+        final AtomicReference<String> failure = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(writers);
+        for (int t = 0; t < writers; t++) {
+            final int writer = t;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < steps; i++) {
+                            String key = writer + ":" + i;
+                            Integer value = writer * values + i % values;
+                            if (writer % 2 == 0) {
+                                map.forcePut(key, value);
+                            } else {
+                                map.inverse().forcePut(value, key);
+                            }
+                            progress.set(writer, i);
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+        Thread[] readers = new Thread[2];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    while (done.getCount() > 0 && failure.get() == null) {
+                        for (int writer = 0; writer < writers; writer++) {
+                            int step = progress.get(writer) + 1;
+                            String key = writer + ":" + step;
+                            Integer value = map.get(key);
+                            if (value == null) {
+                                continue;
+                            }
+                            String current = map.getKey(value);
+                            if (current == null || Integer.parseInt(current.substring(current.indexOf(':') + 1)) < step) {
+                                failure.compareAndSet(null, key + "=" + value + " but getKey returns " + current);
+                            }
+                        }
+                    }
+                }
+            });
+            readers[r].start();
+        }
+        done.await();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(failure.get());
+        assertEquals(writers * values, map.size());
+        assertConsistent(map);
+        for (int writer = 0; writer < writers; writer += 2) {
+            map.remove(writer + ":" + (steps - 1));
+            map.inverse().remove(writer * values + 1);
+        }
+        assertConsistent(map);
+    }
+}
@@ -0,0 +1,117 @@
+package com.hwangjr.utils.collection;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CollectionHelperTest {
+    /**
+     * appendable which is not a {@link StringBuilder}, counts the calls of append.
+     */
+    private static final class CountingAppendable implements Appendable {
+        private final StringBuilder content = new StringBuilder();
+        private int appendCount;
+
+        @Override
+        public Appendable append(CharSequence csq) {
+            appendCount++;
+            content.append(csq);
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) {
+            appendCount++;
+            content.append(csq, start, end);
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) {
+            appendCount++;
+            content.append(c);
+            return this;
+        }
+    }
+
+    @Test
+    public void floatFormatterIsNotWidened() throws IOException {
+        float[] array = {0.1f, 2.5f, -3.3f};
+        CollectionHelper.IFloatFormatter formatter = new CollectionHelper.IFloatFormatter() {
+            @Override
+            public void format(StringBuilder builder, float value) {
+                builder.append(value);
+            }
+        };
+        assertEquals("0.1,2.5,-3.3", CollectionHelper.joinTo(new StringBuilder(), array, null, formatter).toString());
+        assertEquals("0.1;2.5;-3.3", CollectionHelper.joinTo(new StringWriter(), array, ";", formatter).toString());
+        assertEquals(CollectionHelper.join(array, "|"), CollectionHelper.joinTo(new StringWriter(), array, "|", null).toString());
+    }
+
+    @Test
+    public void appendableMatchesBuilder() throws IOException {
+        int[] ints = new int[1000];
+        long[] longs = new long[ints.length];
+        double[] doubles = new double[ints.length];
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = i * 7919 - 100000;
+            longs[i] = (long) ints[i] << 20;
+            doubles[i] = ints[i] / 3.0;
+            list.add(ints[i]);
+        }
+        CollectionHelper.ILongFormatter hex = new CollectionHelper.ILongFormatter() {
+            @Override
+            public void format(StringBuilder builder, long value) {
+                builder.append(Long.toHexString(value));
+            }
+        };
+        assertEquals(CollectionHelper.join(ints, ", "), CollectionHelper.joinTo(new StringWriter(), ints, ", ", null).toString());
+        assertEquals(CollectionHelper.joinTo(new StringBuilder(), ints, null, hex).toString(),
+                CollectionHelper.joinTo(new StringWriter(), ints, null, hex).toString());
+        assertEquals(CollectionHelper.join(longs, "#"), CollectionHelper.joinTo(new StringWriter(), longs, "#", null).toString());
+        assertEquals(CollectionHelper.join(doubles, "#"), CollectionHelper.joinTo(new StringWriter(), doubles, "#", null).toString());
+        assertEquals(CollectionHelper.join(new short[]{1, -2}, null),
+                CollectionHelper.joinTo(new StringWriter(), new short[]{1, -2}, null, null).toString());
+        assertEquals("1,-2", CollectionHelper.joinTo(new StringWriter(), new byte[]{1, -2}, null, null).toString());
+        assertEquals("a-b", CollectionHelper.joinTo(new StringWriter(), new char[]{'a', 'b'}, "-").toString());
+        assertEquals("true,false", CollectionHelper.joinTo(new StringWriter(), new boolean[]{true, false}, null).toString());
+        assertEquals(CollectionHelper.join(list, "; "), CollectionHelper.joinTo(new StringWriter(), list, "; ").toString());
+        CollectionHelper.IFormatter<Object> quote = new CollectionHelper.IFormatter<Object>() {
+            @Override
+            public void format(StringBuilder builder, Object element) {
+                builder.append('"').append(element).append('"');
+            }
+        };
+        assertEquals("\"x\",\"y\"", CollectionHelper.joinTo(new StringWriter(), Arrays.asList("x", "y"), null, quote).toString());
+    }
+
+    @Test
+    public void appendableIsWrittenInChunks() throws IOException {
+        int[] ints = new int[10000];
+        Arrays.fill(ints, 123456789);
+        CountingAppendable appendable = CollectionHelper.joinTo(new CountingAppendable(), ints, ",", null);
+        String expected = CollectionHelper.join(ints, ",");
+        assertEquals(expected, appendable.content.toString());
+        assertTrue(appendable.appendCount + " appends", appendable.appendCount <= expected.length() / 1024 + 2);
+    }
+
+    @Test
+    public void nullArrayKeepsAppendable() throws IOException {
+        StringBuilder builder = new StringBuilder("x");
+        assertSame(builder, CollectionHelper.joinTo(builder, (int[]) null, ",", null));
+        assertEquals("x", builder.toString());
+        StringWriter writer = new StringWriter();
+        assertSame(writer, CollectionHelper.joinTo(writer, (double[]) null, ",", null));
+        assertSame(writer, CollectionHelper.joinTo(writer, (Iterable<?>) null, ","));
+        assertEquals("", writer.toString());
+    }
+}
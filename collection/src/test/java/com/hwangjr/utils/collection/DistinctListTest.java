@@ -0,0 +1,95 @@
+package com.hwangjr.utils.collection;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DistinctListTest {
+    @Test
+    public void addSkipsDuplicates() {
+        DistinctList<String> list = new DistinctList<>();
+        assertTrue(list.add("a"));
+        assertTrue(list.add(null));
+        assertFalse(list.add("a"));
+        assertFalse(list.add(null));
+        assertEquals(Arrays.asList("a", null), list);
+        assertTrue(list.contains(null));
+        assertEquals(1, list.indexOf(null));
+    }
+
+    @Test
+    public void constructorKeepsFirstOccurrence() {
+        DistinctList<Integer> list = new DistinctList<>(Arrays.asList(3, 1, 3, 2, 1));
+        assertEquals(Arrays.asList(3, 1, 2), list);
+        assertFalse(list.addAll(Arrays.asList(1, 2, 3)));
+        assertTrue(list.addAll(Arrays.asList(4, 1, 5, 4)));
+        assertEquals(Arrays.asList(3, 1, 2, 4, 5), list);
+    }
+
+    @Test
+    public void insertDuplicateThrows() {
+        DistinctList<String> list = new DistinctList<>(Arrays.asList("a", "b"));
+        list.add(0, "c");
+        assertEquals(Arrays.asList("c", "a", "b"), list);
+        try {
+            list.add(1, "b");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(Arrays.asList("c", "a", "b"), list);
+        }
+    }
+
+    @Test
+    public void setKeepsIndexInSync() {
+        DistinctList<String> list = new DistinctList<>(Arrays.asList("a", "b"));
+        assertEquals("a", list.set(0, "a"));
+        assertEquals("a", list.set(0, "c"));
+        assertFalse(list.contains("a"));
+        assertTrue(list.add("a"));
+        try {
+            list.set(0, "b");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(Arrays.asList("c", "b", "a"), list);
+        }
+    }
+
+    @Test
+    public void removalsKeepIndexInSync() {
+        DistinctList<Integer> list = new DistinctList<>(Arrays.asList(0, 1, 2, 3, 4, 5));
+        assertEquals(Integer.valueOf(0), list.remove(0));
+        assertTrue(list.remove(Integer.valueOf(5)));
+        assertFalse(list.remove(Integer.valueOf(5)));
+        list.subList(1, 3).clear();
+        assertEquals(Arrays.asList(1, 4), list);
+        Iterator<Integer> iterator = list.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() == 1) {
+                iterator.remove();
+            }
+        }
+        assertEquals(Arrays.asList(4), list);
+        for (int i = 0; i <= 5; i++) {
+            assertEquals(i == 4, list.contains(i));
+        }
+        assertTrue(list.add(1));
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertTrue(list.add(4));
+    }
+
+    @Test
+    public void addDistinctListDelegates() {
+        DistinctList<String> list = new DistinctList<>(Arrays.asList("a", "b"));
+        List<String> entries = Arrays.asList("b", "c", "c", "d");
+        assertEquals(2, ListHelper.addDistinctList(list, entries));
+        assertEquals(Arrays.asList("a", "b", "c", "d"), list);
+    }
+}
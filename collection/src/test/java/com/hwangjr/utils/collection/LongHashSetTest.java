@@ -0,0 +1,68 @@
+package com.hwangjr.utils.collection;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LongHashSetTest {
+    @Test
+    public void addReportsDuplicates() {
+        LongHashSet set = new LongHashSet(0);
+        assertTrue(set.add(0L));
+        assertFalse(set.add(0L));
+        assertTrue(set.add(-1L));
+        assertTrue(set.add(Long.MIN_VALUE));
+        assertTrue(set.add(Long.MAX_VALUE));
+        assertFalse(set.add(Long.MIN_VALUE));
+        assertEquals(4, set.size());
+    }
+
+    @Test
+    public void containsAfterRehash() {
+        LongHashSet set = new LongHashSet(2);
+        for (long i = 0; i < 10000; i++) {
+            assertTrue(set.add(i << 32));
+        }
+        assertEquals(10000, set.size());
+        for (long i = 0; i < 10000; i++) {
+            assertTrue(set.contains(i << 32));
+            assertFalse(set.contains((i << 32) + 1));
+        }
+    }
+
+    @Test
+    public void matchesHashSet() {
+        Random random = new Random(42);
+        LongHashSet set = new LongHashSet(16);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 20000; i++) {
+            long value = random.nextInt(5000) - 2500;
+            assertEquals(expected.add(value), set.add(value));
+            assertEquals(expected.size(), set.size());
+        }
+        for (long value = -3000; value < 3000; value++) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+    }
+
+    @Test
+    public void distinctKeepsFirstOccurrence() {
+        int[] ints = {3, 1, 3, 2, 1, 3};
+        assertEquals(3, ArrayHelper.distinct(ints));
+        assertEquals(3, ints[0]);
+        assertEquals(1, ints[1]);
+        assertEquals(2, ints[2]);
+
+        double[] doubles = {Double.NaN, 0.0, -0.0, Double.NaN, 0.0};
+        assertEquals(3, ArrayHelper.distinct(doubles));
+        assertTrue(Double.isNaN(doubles[0]));
+        assertEquals(Double.doubleToLongBits(0.0), Double.doubleToLongBits(doubles[1]));
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(doubles[2]));
+    }
+}
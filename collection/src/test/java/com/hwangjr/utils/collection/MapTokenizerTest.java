@@ -0,0 +1,144 @@
+package com.hwangjr.utils.collection;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MapTokenizerTest {
+    private static Map<String, String> map(String... keyAndValues) {
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < keyAndValues.length; i += 2) {
+            map.put(keyAndValues[i], keyAndValues[i + 1]);
+        }
+        return map;
+    }
+
+    /**
+     * collect the entries in order, "key=value" for each.
+     */
+    private static final class Collector implements MapTokenizer.IEntryHandler {
+        private final List<String> entries = new ArrayList<>();
+
+        @Override
+        public void onEntry(String key, String value) {
+            entries.add(key + "=" + value);
+        }
+    }
+
+    /**
+     * reader which returns at most one char for each read, so every char is a chunk boundary.
+     */
+    private static final class OneCharReader extends Reader {
+        private final Reader reader;
+
+        OneCharReader(String source) {
+            this.reader = new StringReader(source);
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int count) throws IOException {
+            return reader.read(buffer, offset, Math.min(1, count));
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static List<String> tokenizeAllWays(MapTokenizer tokenizer, String source) throws IOException {
+        Collector fromString = new Collector();
+        tokenizer.tokenize(source, fromString);
+        Collector fromBuilder = new Collector();
+        tokenizer.tokenize(new StringBuilder(source), fromBuilder);
+        Collector fromChars = new Collector();
+        char[] chars = ("#" + source + "#").toCharArray();
+        tokenizer.tokenize(chars, 1, chars.length - 1, fromChars);
+        Collector fromReader = new Collector();
+        tokenizer.tokenize(new StringReader(source), fromReader);
+        Collector fromOneCharReader = new Collector();
+        tokenizer.tokenize(new OneCharReader(source), fromOneCharReader);
+        assertEquals(fromString.entries, fromBuilder.entries);
+        assertEquals(fromString.entries, fromChars.entries);
+        assertEquals(fromString.entries, fromReader.entries);
+        assertEquals(fromString.entries, fromOneCharReader.entries);
+        return fromString.entries;
+    }
+
+    @Test
+    public void parseMatchesParseToMap() {
+        assertNull(MapHelper.parseToMap("", "", "", true));
+        assertEquals(map("a", "b"), MapHelper.parseToMap("a:b,:", "", "", true));
+        assertEquals(map("a", "b"), MapHelper.parseToMap("a:b,:d", "", "", true));
+        assertEquals(map("a", "b", "c", "d"), MapHelper.parseToMap("a:b,c:d", "", "", true));
+        assertEquals(map("a", "b", "c", "d"), MapHelper.parseToMap("a=b, c = d", "=", ",", true));
+        assertEquals(map("a", "b", " c ", " d"), MapHelper.parseToMap("a=b, c = d", "=", ",", false));
+        assertEquals(map("a=b, c=d", ""), MapHelper.parseToMap("a=b, c=d;", ";", "|", false));
+        assertEquals(map("a", "b:c", "d", ""), MapHelper.parseToMap("a:b:c,d:,e", "", "", true));
+    }
+
+    @Test
+    public void multiCharSeparators() throws IOException {
+        MapTokenizer tokenizer = new MapTokenizer("=>", "||", true);
+        assertEquals(map("a", "b=c", "d", "e|f"), tokenizer.parse("a=>b=c || d => e|f||"));
+        assertEquals(2, tokenizeAllWays(tokenizer, "a=>b=c || d => e|f||").size());
+    }
+
+    @Test
+    public void quotesKeepSeparatorsAndSpaces() {
+        MapTokenizer tokenizer = new MapTokenizer(":", ",", true, '"', MapTokenizer.NONE);
+        assertEquals(map("a", "b,c", "x y ", "z", "k", " v", "e", ""),
+                tokenizer.parse(" a : \"b,c\" , \"x y \":z, k:\" v\", e:\"\""));
+        assertEquals(map("a:b", "c"), tokenizer.parse("\"a:b\":c"));
+    }
+
+    @Test
+    public void escapeKeepsNextChar() throws IOException {
+        MapTokenizer tokenizer = new MapTokenizer(":", ",", true, '"', '\\');
+        assertEquals(map("a:b", "c,d", "q", "\"", "s", " t"), tokenizer.parse("a\\:b:c\\,d, q:\\\", s:\\ t"));
+        // the escape at the end of input is kept
+        assertEquals(map("x", "y\\"), tokenizer.parse("x:y\\"));
+        assertEquals(4, tokenizeAllWays(tokenizer, "a\\:b:c\\,d, q:\\\", s:\\ t, x:y\\").size());
+    }
+
+    @Test
+    public void separatorStraddlesBufferBoundary() throws IOException {
+        MapTokenizer tokenizer = new MapTokenizer("::", ",,", true, '\'', '\\');
+        // shift the tokens over the 1024 chars boundary of the internal buffer
+        for (int shift = 1015; shift < 1030; shift++) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < shift; i++) {
+                builder.append('p');
+            }
+            builder.append("::1,,k::'v,,w',,e\\,,f::g,,last::x,,");
+            builder.append(builder.toString().replace('p', 'q'));
+            String source = builder.toString();
+            List<String> entries = tokenizeAllWays(tokenizer, source);
+            assertEquals("shift " + shift, 8, entries.size());
+            assertTrue(entries.contains("k=v,,w"));
+            assertTrue(entries.contains("e,,f=g"));
+        }
+    }
+
+    @Test
+    public void handlerGetsEveryPairInOrder() throws IOException {
+        MapTokenizer tokenizer = new MapTokenizer("=", "&", false);
+        List<String> entries = tokenizeAllWays(tokenizer, "a=1&b=2&a=3&=4&c&d=");
+        assertEquals(4, entries.size());
+        assertEquals("a=1", entries.get(0));
+        assertEquals("b=2", entries.get(1));
+        assertEquals("a=3", entries.get(2));
+        assertEquals("d=", entries.get(3));
+        assertEquals(map("a", "3", "b", "2", "d", ""), tokenizer.parse("a=1&b=2&a=3&=4&c&d="));
+    }
+}
@@ -0,0 +1,129 @@
+package com.hwangjr.utils.collection;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelPickTest {
+    private static final int SIZE = 100000;
+
+    /**
+     * pick the element which is one less than a multiple of expect, e.g. 4, 9, 14 for 5.
+     */
+    private static final CollectionPicker.IPickerStrategy<Integer, Integer> MULTIPLE =
+            new CollectionPicker.IPickerStrategy<Integer, Integer>() {
+                @Override
+                public boolean isPicked(Integer expect, Integer target) {
+                    return target % expect == expect - 1;
+                }
+            };
+
+    private static List<Integer> range(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Test
+    public void pickKeepsOrderAcrossChunks() {
+        List<Integer> list = range(SIZE);
+        for (int expect : new int[]{1, 7, 1000, SIZE, SIZE + 1}) {
+            assertEquals(CollectionPicker.pick(expect, list, MULTIPLE), ParallelPick.pick(expect, list, MULTIPLE));
+        }
+        LinkedList<Integer> linked = new LinkedList<>(list);
+        assertEquals(CollectionPicker.pick(7, linked, MULTIPLE), ParallelPick.pick(7, linked, MULTIPLE));
+    }
+
+    @Test
+    public void pickParallelMatchesPick() {
+        List<Integer> list = range(SIZE);
+        assertEquals(CollectionPicker.pick(3, list, MULTIPLE), CollectionPicker.pickParallel(3, list, MULTIPLE, 1));
+        assertEquals(CollectionPicker.pickFirst(3, list, MULTIPLE), CollectionPicker.pickFirstParallel(3, list, MULTIPLE, 1));
+    }
+
+    @Test
+    public void pickFirstReturnsLowestIndex() {
+        List<Integer> list = range(SIZE);
+        // the element just before the first match is slow, so the chunks after it find their matches first
+        CollectionPicker.IPickerStrategy<Integer, Integer> slowFirstChunk = new CollectionPicker.IPickerStrategy<Integer, Integer>() {
+            @Override
+            public boolean isPicked(Integer expect, Integer target) {
+                if (target == expect - 2) {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return MULTIPLE.isPicked(expect, target);
+            }
+        };
+        assertEquals(Integer.valueOf(4999), ParallelPick.pickFirst(5000, list, slowFirstChunk));
+        assertEquals(Integer.valueOf(0), ParallelPick.pickFirst(1, list, MULTIPLE));
+        assertNull(ParallelPick.pickFirst(SIZE + 1, list, MULTIPLE));
+    }
+
+    @Test
+    public void pickFirstSkipsLaterChunksOnceFound() {
+        final AtomicInteger calls = new AtomicInteger();
+        CollectionPicker.IPickerStrategy<Integer, Integer> counting = new CollectionPicker.IPickerStrategy<Integer, Integer>() {
+            @Override
+            public boolean isPicked(Integer expect, Integer target) {
+                calls.incrementAndGet();
+                return MULTIPLE.isPicked(expect, target);
+            }
+        };
+        // the first match is 9, at the beginning of the first chunk
+        assertEquals(Integer.valueOf(9), ParallelPick.pickFirst(10, range(SIZE), counting));
+        // the chunks which are taken after the match is found are not scanned
+        assertTrue("scanned " + calls.get(), calls.get() < SIZE / 4);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void strategyExceptionReachesCaller() {
+        ParallelPick.pick(1, range(SIZE), new CollectionPicker.IPickerStrategy<Integer, Integer>() {
+            @Override
+            public boolean isPicked(Integer expect, Integer target) {
+                if (target == SIZE / 2) {
+                    throw new IllegalStateException("failed at " + target);
+                }
+                return true;
+            }
+        });
+    }
+
+    @Test(expected = AssertionError.class)
+    public void strategyErrorReachesCaller() {
+        ParallelPick.pickFirst(SIZE, range(SIZE), new CollectionPicker.IPickerStrategy<Integer, Integer>() {
+            @Override
+            public boolean isPicked(Integer expect, Integer target) {
+                if (target == SIZE - 1) {
+                    throw new AssertionError("failed at " + target);
+                }
+                return false;
+            }
+        });
+    }
+
+    @Test(timeout = 10000)
+    public void nestedPickFromWorkerDoesNotDeadlock() {
+        final List<Integer> inner = range(SIZE / 10);
+        List<Integer> outer = range(1000);
+        List<Integer> picked = ParallelPick.pick(1, outer, new CollectionPicker.IPickerStrategy<Integer, Integer>() {
+            @Override
+            public boolean isPicked(Integer expect, Integer target) {
+                return ParallelPick.pickFirst(target + 1, inner, MULTIPLE) != null;
+            }
+        });
+        assertEquals(outer, picked);
+    }
+}
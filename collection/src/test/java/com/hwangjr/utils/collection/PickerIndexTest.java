@@ -0,0 +1,106 @@
+package com.hwangjr.utils.collection;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PickerIndexTest {
+    /**
+     * key of "a1" is "a", key of "1" is null.
+     */
+    private static final CollectionHelper.IKeyExtractor<String, String> PREFIX =
+            new CollectionHelper.IKeyExtractor<String, String>() {
+                @Override
+                public String getKey(String value) {
+                    return value.length() > 1 ? value.substring(0, 1) : null;
+                }
+            };
+
+    private static final List<String> ELEMENTS = Arrays.asList("b1", "a1", "c1", "a2", "1", "b2");
+
+    @Test
+    public void hashIndexPicksByKey() {
+        PickerIndex<String, String> index = new PickerIndex<>(ELEMENTS, PREFIX);
+        assertFalse(index.isOrdered());
+        assertEquals(6, index.size());
+        assertEquals("a1", index.pickFirst("a"));
+        assertEquals(Arrays.asList("a1", "a2"), index.pick("a"));
+        assertEquals(Collections.singletonList("1"), index.pick(null));
+        assertTrue(index.containsKey(null));
+        assertNull(index.pickFirst("d"));
+        assertTrue(index.pick("d").isEmpty());
+    }
+
+    @Test
+    public void removeKeepsIndexInSync() {
+        PickerIndex<String, String> index = new PickerIndex<>(ELEMENTS, PREFIX);
+        assertTrue(index.remove("a1"));
+        assertFalse(index.remove("a1"));
+        assertEquals("a2", index.pickFirst("a"));
+        assertTrue(index.remove("a2"));
+        assertFalse(index.containsKey("a"));
+        assertEquals(4, index.size());
+        index.add("a3");
+        assertEquals(Collections.singletonList("a3"), index.pick("a"));
+        index.clear();
+        assertEquals(0, index.size());
+        assertNull(index.pickFirst("b"));
+    }
+
+    @Test
+    public void orderedIndexPicksRange() {
+        PickerIndex<String, String> index = new PickerIndex<>(ELEMENTS.subList(0, 4), PREFIX, null);
+        assertTrue(index.isOrdered());
+        assertEquals(Arrays.asList("a1", "a2", "b1"), index.pickRange("a", "c"));
+        assertEquals(Arrays.asList("b1", "c1"), index.pickRange("a", false, "c", true));
+        assertEquals("b1", index.pickFirstCeiling("aa"));
+        assertEquals("a1", index.pickFirstFloor("az"));
+        assertNull(index.pickFirstFloor("0"));
+        assertNull(index.pickFirst(null));
+        assertFalse(index.containsKey(null));
+    }
+
+    @Test
+    public void naturalOrderRejectsNullKeyBeforeIndexing() {
+        try {
+            new PickerIndex<>(ELEMENTS, PREFIX, null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        PickerIndex<String, String> index = new PickerIndex<>(Collections.singletonList("a1"), PREFIX, null);
+        try {
+            index.addAll(Arrays.asList("b1", "1", "c1"));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(1, index.size());
+            assertNull(index.pickFirst("b"));
+        }
+    }
+
+    @Test
+    public void comparatorMayAcceptNullKey() {
+        PickerIndex<String, String> index = new PickerIndex<>(ELEMENTS, PREFIX, new Comparator<String>() {
+            @Override
+            public int compare(String lhs, String rhs) {
+                return lhs == null ? (rhs == null ? 0 : -1) : (rhs == null ? 1 : lhs.compareTo(rhs));
+            }
+        });
+        assertEquals("1", index.pickFirst(null));
+        assertEquals(Arrays.asList("1", "a1", "a2"), index.pickRange(null, "b"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void hashIndexRejectsRangePick() {
+        new PickerIndex<>(ELEMENTS, PREFIX).pickRange("a", "c");
+    }
+}
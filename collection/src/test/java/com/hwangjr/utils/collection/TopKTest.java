@@ -0,0 +1,99 @@
+package com.hwangjr.utils.collection;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TopKTest {
+    /**
+     * compare by the tens only, so there are many ties.
+     */
+    private static final Comparator<Integer> BY_TENS = new Comparator<Integer>() {
+        @Override
+        public int compare(Integer lhs, Integer rhs) {
+            return lhs / 10 - rhs / 10;
+        }
+    };
+
+    private static final CollectionPicker.IScorer<Integer> TENS_SCORE = new CollectionPicker.IScorer<Integer>() {
+        @Override
+        public double score(Integer target) {
+            return target / 10;
+        }
+    };
+
+    private static final CollectionPicker.IPickerStrategy<Integer, Integer> ODD =
+            new CollectionPicker.IPickerStrategy<Integer, Integer>() {
+                @Override
+                public boolean isPicked(Integer expect, Integer target) {
+                    return target % 2 == 1;
+                }
+            };
+
+    private static List<Integer> randomList(int size, long seed) {
+        Random random = new Random(seed);
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(random.nextInt(1000));
+        }
+        return list;
+    }
+
+    /**
+     * the best k by a stable descending sort.
+     */
+    private static List<Integer> expectedTop(List<Integer> list, int k) {
+        List<Integer> sorted = new ArrayList<>(list);
+        Collections.sort(sorted, Collections.reverseOrder(BY_TENS));
+        return sorted.subList(0, Math.min(k, sorted.size()));
+    }
+
+    @Test
+    public void matchesStableSort() {
+        List<Integer> list = randomList(2000, 1);
+        for (int k : new int[]{0, 1, 5, 17, 100, 2000, 5000}) {
+            TopK<Integer> byComparator = new TopK<>(k, BY_TENS, null);
+            TopK<Integer> byScorer = new TopK<>(k, null, TENS_SCORE);
+            for (int i = 0; i < list.size(); i++) {
+                byComparator.offer(list.get(i), i);
+                byScorer.offer(list.get(i), i);
+            }
+            List<Integer> expected = expectedTop(list, k);
+            assertEquals(expected, byComparator.toList());
+            assertEquals(expected, byScorer.toList());
+        }
+    }
+
+    @Test
+    public void mergedHeapsMatchSingleHeap() {
+        List<Integer> list = randomList(1000, 2);
+        TopK<Integer> merged = new TopK<>(50, BY_TENS, null);
+        for (int from = 0; from < list.size(); from += 300) {
+            TopK<Integer> part = new TopK<>(50, BY_TENS, null);
+            for (int i = from; i < Math.min(from + 300, list.size()); i++) {
+                part.offer(list.get(i), i);
+            }
+            merged.addAll(part);
+        }
+        assertEquals(expectedTop(list, 50), merged.toList());
+    }
+
+    @Test
+    public void pickTopMatchesPickThenSort() {
+        List<Integer> list = randomList(CollectionPicker.PARALLEL_THRESHOLD * 2, 3);
+        List<Integer> expected = expectedTop(CollectionPicker.pick(0, list, ODD), 30);
+        assertEquals(expected, CollectionPicker.pickTop(0, list, ODD, BY_TENS, 30));
+        assertEquals(expected, CollectionPicker.pickTop(0, list, ODD, TENS_SCORE, 30));
+        assertEquals(expected, CollectionPicker.pickTopParallel(0, list, ODD, BY_TENS, 30));
+        assertEquals(expected, CollectionPicker.pickTopParallel(0, list, ODD, TENS_SCORE, 30));
+        assertEquals(expectedTop(list, 10), CollectionPicker.pickTop(list, BY_TENS, 10));
+        assertTrue(CollectionPicker.pickTop(list, TENS_SCORE, 0).isEmpty());
+    }
+}